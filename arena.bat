@@ -0,0 +1 @@
+javac -d classes -cp "src" src/simulation/GameArena.java && java -cp "classes;src" simulation.GameArena %*
\ No newline at end of file
@@ -0,0 +1 @@
+javac -d bench-classes -cp "lib/*;lib/jmh/*;src" bench/benchmarks/*.java && java -cp "lib/*;lib/jmh/*;bench-classes" org.openjdk.jmh.Main %*
\ No newline at end of file
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import cards.Card;
+import cards.Deck;
+import game.HeadlessGame;
+import players.Player;
+import simulation.BotType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builders for realistic game positions shared by the benchmarks.
+ */
+final class BenchmarkStates {
+
+    private BenchmarkStates() {
+    }
+
+    /**
+     * @return a parade of the given length drawn from a freshly shuffled deck
+     */
+    static List<Card> parade(int length) {
+        Deck deck = new Deck();
+        List<Card> parade = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            parade.add(deck.drawCard());
+        }
+        return parade;
+    }
+
+    /**
+     * Plays a complete game between beginner bots so the rivers and parade have the size
+     * they reach in real games.
+     */
+    static HeadlessGame finishedGame(int numPlayers) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            players.add(BotType.BEGINNER.create("Bot " + (i + 1)));
+        }
+        HeadlessGame game = new HeadlessGame(players);
+        game.play();
+        return game;
+    }
+}
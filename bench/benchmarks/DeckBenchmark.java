@@ -0,0 +1,48 @@
+package benchmarks;
+
+import cards.Card;
+import cards.Deck;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deck life cycle: construction (which shuffles), reshuffling and drawing every card. Drawing
+ * empties the deck, so drawAll builds its own; subtract construct to get the cost of the draws.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    private Deck deck;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        deck = new Deck();
+    }
+
+    @Benchmark
+    public Deck construct() {
+        return new Deck();
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle();
+        return deck;
+    }
+
+    @Benchmark
+    public void drawAll(Blackhole blackhole) {
+        Deck deck = new Deck();
+        Card card;
+        while ((card = deck.drawCard()) != null) {
+            blackhole.consume(card);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import cards.Deck;
+import game.GameState;
+import game.SearchState;
+import org.openjdk.jmh.annotations.*;
+import players.Player;
+import players.computer.EndgameSolver;
+import simulation.BotType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving the discard phase of a game exactly, with all hands known, from the first discard.
+ * A fresh solver is used every time so nothing is remembered between invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EndgameSolverBenchmark {
+
+    @Param({"2", "3", "4"})
+    public int numPlayers;
+
+    private SearchState discardPhase;
+    private int[] scores;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            players.add(BotType.BEGINNER.create("Bot " + (i + 1), i));
+        }
+        GameState gameState = new GameState(players, new Deck(42));
+        for (Player p : players) {
+            for (int i = 0; i < 5; i++) {
+                p.drawCard(gameState.getDeck().drawCard());
+            }
+        }
+        gameState.initializeParade(6);
+
+        // Play randomly up to the first discard
+        SearchState state = gameState.toSearchState(0, SearchState.Phase.PLAY, 0);
+        SplittableRandom random = new SplittableRandom(42);
+        while (state.getPhase() != SearchState.Phase.DISCARD) {
+            state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+        }
+        discardPhase = state.copy();
+        scores = new int[numPlayers];
+    }
+
+    @Benchmark
+    public int[] solveDiscards() {
+        new EndgameSolver(numPlayers, 1 << 14, Long.MAX_VALUE).solve(discardPhase, scores);
+        return scores;
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import cards.Card;
+import cards.CardColor;
+import cards.Parade;
+import game.GameState;
+import game.HeadlessGame;
+import game.ParadeEngine;
+import org.openjdk.jmh.annotations.*;
+import players.computer.MoveEvaluator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring a five-card hand against the parade with {@link MoveEvaluator}, compared with
+ * resolving a copy of the parade for every card as TurnManager would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveEvaluatorBenchmark {
+
+    @Param({"6", "12", "24", "48"})
+    public int paradeLength;
+
+    private Parade parade;
+    private GameState rivers;
+    private int[] hand;
+    private int[] penalties;
+    private MoveEvaluator evaluator;
+
+    @Setup
+    public void setUp() {
+        parade = new Parade(BenchmarkStates.parade(paradeLength));
+        HeadlessGame game = BenchmarkStates.finishedGame(4);
+        rivers = game.getGameState();
+        CardColor[] colors = CardColor.values();
+        hand = new int[5];
+        for (int i = 0; i < hand.length; i++) {
+            hand[i] = Card.of(colors[i % colors.length], i * 2).getId();
+        }
+        penalties = new int[hand.length];
+        evaluator = new MoveEvaluator();
+    }
+
+    @Benchmark
+    public int[] evaluateHand() {
+        evaluator.loadParade(parade);
+        evaluator.loadRivers(rivers.getPlayers(), 0);
+        evaluator.evaluateAll(hand, hand.length, penalties);
+        return penalties;
+    }
+
+    @Benchmark
+    public int resolveEachCard() {
+        int taken = 0;
+        for (int id : hand) {
+            List<Card> cards = ParadeEngine.resolveParade(new Parade(parade), Card.of(id));
+            taken += cards.size();
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import cards.Card;
+import cards.CardColor;
+import cards.CardSet;
+import cards.Parade;
+import game.ParadeEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parade resolution as performed by TurnManager on every play.
+ * {@link #copyParade()} measures the per-invocation copy so it can be subtracted from the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParadeEngineBenchmark {
+
+    @Param({"6", "12", "24", "48"})
+    public int paradeLength;
+
+    private List<Card> parade;
+    private Card[] choices;
+    private int nextChoice;
+
+    @Setup
+    public void setUp() {
+        parade = BenchmarkStates.parade(paradeLength);
+        choices = new Card[11];
+        CardColor[] colors = CardColor.values();
+        for (int value = 0; value <= 10; value++) {
+            choices[value] = Card.of(colors[value % colors.length], value);
+        }
+    }
+
+    private Card nextChoice() {
+        nextChoice = (nextChoice + 1) % choices.length;
+        return choices[nextChoice];
+    }
+
+    @Benchmark
+    public List<Card> copyParade() {
+        return new Parade(parade);
+    }
+
+    @Benchmark
+    public List<Card> resolveParade() {
+        return ParadeEngine.resolveParade(new Parade(parade), nextChoice());
+    }
+
+    @Benchmark
+    public boolean resolveAndCheckColors() {
+        List<Card> taken = ParadeEngine.resolveParade(new Parade(parade), nextChoice());
+        return new CardSet(taken).hasAllColors();
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import cards.Card;
+import cards.CardPrinter;
+import game.GameState;
+import game.TurnManager;
+import jakarta.websocket.Session;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ui.UserInterface;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board rendering: a single card row and the full boxed game state that is broadcast every turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderingBenchmark {
+
+    @Param({"2", "4", "6", "8"})
+    public int numPlayers;
+
+    @Param({"6", "12", "24"})
+    public int paradeLength;
+
+    private List<Card> parade;
+    private GameState gameState;
+    private TurnManager turnManager;
+
+    /**
+     * Swallows every message into the blackhole instead of printing it.
+     */
+    private static class BlackholeUI implements UserInterface {
+        private final Blackhole blackhole;
+
+        BlackholeUI(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void displayMessage(String message, Session s) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void broadcastMessage(String message) {
+            blackhole.consume(message);
+        }
+    }
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        parade = BenchmarkStates.parade(paradeLength);
+        gameState = BenchmarkStates.finishedGame(numPlayers).getGameState();
+        gameState.getParade().clear();
+        gameState.getParade().addAll(parade);
+        turnManager = new TurnManager(new BlackholeUI(blackhole), new Scanner(""));
+    }
+
+    @Benchmark
+    public String printCardRow() {
+        return CardPrinter.printCardRow(parade, true);
+    }
+
+    @Benchmark
+    public void displayGameState() {
+        turnManager.displayGameState(gameState, gameState.getPlayers().get(0));
+    }
+}
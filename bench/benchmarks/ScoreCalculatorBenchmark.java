@@ -0,0 +1,45 @@
+package benchmarks;
+
+import cards.CardColor;
+import game.ScoreCalculator;
+import org.openjdk.jmh.annotations.*;
+import players.Player;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-of-game scoring over rivers taken from a completed game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreCalculatorBenchmark {
+
+    @Param({"2", "4", "6", "8"})
+    public int numPlayers;
+
+    private List<Player> players;
+    private ScoreCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkStates.finishedGame(numPlayers).getGameState().getPlayers();
+        calculator = new ScoreCalculator(players);
+    }
+
+    @Benchmark
+    public ScoreCalculator construct() {
+        return new ScoreCalculator(players);
+    }
+
+    @Benchmark
+    public Map<Player, Set<CardColor>> calculateMajorities() {
+        return calculator.calculateMajorities();
+    }
+}
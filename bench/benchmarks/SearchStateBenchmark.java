@@ -0,0 +1,60 @@
+package benchmarks;
+
+import cards.Deck;
+import game.GameState;
+import game.SearchState;
+import org.openjdk.jmh.annotations.*;
+import players.Player;
+import simulation.BotType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random playouts on the undoable search state: every move of a game is made and then unmade again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchStateBenchmark {
+
+    @Param({"2", "4", "6", "8"})
+    public int numPlayers;
+
+    private SearchState state;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            players.add(BotType.BEGINNER.create("Bot " + (i + 1), i));
+        }
+        GameState gameState = new GameState(players, new Deck(42));
+        for (Player p : players) {
+            for (int i = 0; i < 5; i++) {
+                p.drawCard(gameState.getDeck().drawCard());
+            }
+        }
+        gameState.initializeParade(6);
+        state = gameState.toSearchState(0, SearchState.Phase.PLAY, 0);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public int playoutAndUndo() {
+        while (!state.isTerminal()) {
+            state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+        }
+        int moves = state.getDepth();
+        while (state.getDepth() > 0) {
+            state.unmakeMove();
+        }
+        return moves;
+    }
+}
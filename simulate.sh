@@ -0,0 +1 @@
+javac -d classes -cp "src" src/simulation/TournamentRunner.java && java -cp "classes:src" simulation.TournamentRunner "$@"
\ No newline at end of file
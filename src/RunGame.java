@@ -4,7 +4,9 @@ import account.FlairShop;
 import constants.UIConstants;
 import game.GameClientEndpoint;
 import game.GameManager;
+import game.GameRoom;
 import game.GameServerEndpoint;
+import game.RoomRegistry;
 import jakarta.websocket.DeploymentException;
 import rulebook.RulebookManager;
 import ui.ConsoleUtils;
@@ -244,8 +246,9 @@ public class RunGame {
      */
     private void hostMultiPlayer() {
         GameServerEndpoint serverEndpoint = new GameServerEndpoint();
-        UserInterface ui = new MultiplayerUI(serverEndpoint);
-        gameMgr.start(ui, serverEndpoint);
+        GameRoom room = RoomRegistry.openHostRoom(GameRoom.DEFAULT_ID);
+        UserInterface ui = new MultiplayerUI(serverEndpoint, room);
+        gameMgr.start(ui, room);
     }
 
     /**
@@ -254,9 +257,16 @@ public class RunGame {
     private void joinMultiPlayer() {
         while (true) {
             try {
-                System.out.print("Enter a valid IP Address"  + UIConstants.ConsoleInput);
+                System.out.print("Enter a valid IP Address, followed by /<table> to join a table on a game server"  + UIConstants.ConsoleInput);
                 String ipAddress = mainScanner.nextLine().trim();
-                URI serverURI = new URI("ws://" + ipAddress + "/game");
+                // Without a table, join the game of whoever is hosting at that address
+                String room = GameRoom.DEFAULT_ID;
+                int slash = ipAddress.indexOf('/');
+                if (slash >= 0) {
+                    room = ipAddress.substring(slash + 1);
+                    ipAddress = ipAddress.substring(0, slash);
+                }
+                URI serverURI = new URI("ws://" + ipAddress + "/game/" + room);
 
                 GameClientEndpoint clientEndpoint = new GameClientEndpoint(serverURI, mainScanner);
                 CountDownLatch latch = new CountDownLatch(1);
@@ -2,16 +2,62 @@ package cards;
 
 import java.io.Serializable;
 
+/**
+ * A single Parade card. There are only 66 distinct cards, so every card is a shared flyweight
+ * obtained from {@link #of(CardColor, int)} or {@link #of(int)}; game structures can store the
+ * compact card id (0-65) instead and turn it back into a Card at the UI boundary.
+ *
+ * Ids are laid out in {@link CardComparator} order (color first, then value), so sorting ids
+ * sorts the cards the way they are displayed.
+ */
 public class Card implements Serializable{
 
+    public static final int MIN_VALUE = 0;
+    public static final int MAX_VALUE = 10;
+    public static final int NUM_VALUES = MAX_VALUE - MIN_VALUE + 1;
+    public static final int NUM_CARDS = NUM_VALUES * CardColor.values().length;
+
+    // Interned table of every card, indexed by id
+    private static final Card[] CARDS = new Card[NUM_CARDS];
+
+    static {
+        for (CardColor color : CardColor.values()) {
+            for (int value = MIN_VALUE; value <= MAX_VALUE; value++) {
+                int id = idOf(color, value);
+                CARDS[id] = new Card(color, value, id);
+            }
+        }
+    }
+
     // Instance Variables
     private final CardColor CARD_COLOR;
     private final int VALUE;
+    private final int ID;
     
     // Constructors
-    public Card(CardColor color, int value) {
+    private Card(CardColor color, int value, int id) {
         this.CARD_COLOR = color;
         this.VALUE = value;
+        this.ID = id;
+    }
+
+    // Factory Methods
+    public static Card of(CardColor color, int value) {
+        return CARDS[idOf(color, value)];
+    }
+
+    public static Card of(int id) {
+        return CARDS[id];
+    }
+
+    /**
+     * @return the canonical id (0-65) of the card with the given color and value
+     */
+    public static int idOf(CardColor color, int value) {
+        if (value < MIN_VALUE || value > MAX_VALUE) {
+            throw new IllegalArgumentException("Unexpected value: " + value);
+        }
+        return CardComparator.getColorRank(color) * NUM_VALUES + (value - MIN_VALUE);
     }
 
     // Instance Methods
@@ -22,9 +68,18 @@ public class Card implements Serializable{
     public int getValue() {
         return VALUE;
     }
+
+    public int getId() {
+        return ID;
+    }
+
+    // Deserialized cards are replaced by the shared instance.
+    private Object readResolve() {
+        return of(ID);
+    }
     
     @Override
     public String toString() {
         return CARD_COLOR + "-" + VALUE;
     }
-}
\ No newline at end of file
+}
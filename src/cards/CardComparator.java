@@ -5,22 +5,20 @@ import java.util.Comparator;
 public class CardComparator implements Comparator<Card> {
     
     //Compare method. sorts them by color first(purple->blue->red->orange->grey->green), then face value(ascending).
+    //Card ids are laid out in exactly this order, so comparing ids is enough.
     @Override
     public int compare(Card c1, Card c2) {
+        return c1.getId() - c2.getId();
+    }
 
-        int colorDifference = 0;
-
-        colorDifference = getColorScore(c1.getColor()) - getColorScore(c2.getColor());
-
-        if (colorDifference != 0) {
-            return colorDifference;
-        }
-
-        // If the two card's colors are the same, we will then compare the values of the two cards.
-        return c1.getValue() - c2.getValue();
+    /**
+     * @return the position (0-5) of the color in display order
+     */
+    public static int getColorRank(CardColor card_color) {
+        return getColorScore(card_color) - 1;
     }
 
-    private int getColorScore(CardColor card_color) {
+    private static int getColorScore(CardColor card_color) {
         switch (card_color) {
             case PURPLE: return 1;
             case BLUE: return 2;
@@ -0,0 +1,246 @@
+package cards;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A multiset of cards: a count per card id, plus a 128-bit bitset of the ids present (66 bits are
+ * used). With a single deck every count is 0 or 1 and it behaves as a set; Mega Parade games
+ * combine several decks, so a river can hold the same card more than once.
+ * Membership updates are O(1) and iteration visits cards in {@link CardComparator} order because
+ * card ids are laid out in that order, repeating each card as many times as it is held.
+ *
+ * Per-color card counts, per-color value totals and a color-presence mask are updated on every
+ * add and remove, so game-over checks and scoring never rescan the cards.
+ */
+public class CardSet extends AbstractCollection<Card> implements Serializable {
+
+    // Presence mask with one bit per color (by ordinal) set
+    public static final int ALL_COLORS_MASK = (1 << CardColor.values().length) - 1;
+
+    // Bits for ids 0-63 and 64-65, set while the id's count is above zero
+    private long low;
+    private long high;
+    private final int[] counts = new int[Card.NUM_CARDS];
+
+    // Incrementally maintained summaries, indexed by color ordinal
+    private final int[] colorCounts = new int[CardColor.values().length];
+    private final int[] colorValueSums = new int[CardColor.values().length];
+    private int colorMask;
+    private int size;
+
+    public CardSet() {
+    }
+
+    public CardSet(Collection<Card> cards) {
+        addAll(cards);
+    }
+
+    // Id-based operations
+
+    /**
+     * Adds one copy of the card.
+     *
+     * @return true, as a multiset always changes
+     */
+    public boolean addId(int id) {
+        if (counts[id]++ == 0) {
+            if (id < Long.SIZE) {
+                low |= 1L << id;
+            } else {
+                high |= 1L << (id - Long.SIZE);
+            }
+        }
+
+        Card card = Card.of(id);
+        int color = card.getColor().ordinal();
+        colorCounts[color]++;
+        colorValueSums[color] += card.getValue();
+        colorMask |= 1 << color;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes one copy of the card.
+     *
+     * @return whether the card was held
+     */
+    public boolean removeId(int id) {
+        if (counts[id] == 0) {
+            return false;
+        }
+        if (--counts[id] == 0) {
+            if (id < Long.SIZE) {
+                low &= ~(1L << id);
+            } else {
+                high &= ~(1L << (id - Long.SIZE));
+            }
+        }
+
+        Card card = Card.of(id);
+        int color = card.getColor().ordinal();
+        colorValueSums[color] -= card.getValue();
+        if (--colorCounts[color] == 0) {
+            colorMask &= ~(1 << color);
+        }
+        size--;
+        return true;
+    }
+
+    public boolean containsId(int id) {
+        if (id < Long.SIZE) {
+            return (low & (1L << id)) != 0;
+        }
+        return (high & (1L << (id - Long.SIZE))) != 0;
+    }
+
+    /**
+     * @return how many copies of the card this set holds
+     */
+    public int countId(int id) {
+        return counts[id];
+    }
+
+    /**
+     * @return the number of cards of the given color in this set
+     */
+    public int countColor(CardColor color) {
+        return colorCounts[color.ordinal()];
+    }
+
+    /**
+     * @return the sum of the face values of the cards of the given color in this set
+     */
+    public int getColorValueSum(CardColor color) {
+        return colorValueSums[color.ordinal()];
+    }
+
+    /**
+     * @return a mask with bit {@code color.ordinal()} set for every color present in this set
+     */
+    public int getColorMask() {
+        return colorMask;
+    }
+
+    public boolean hasAllColors() {
+        return colorMask == ALL_COLORS_MASK;
+    }
+
+    // Collection operations
+
+    @Override
+    public boolean add(Card card) {
+        return addId(card.getId());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Card && removeId(((Card) o).getId());
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card && containsId(((Card) o).getId());
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Card> cards) {
+        if (cards instanceof CardSet) {
+            // Only visit the ids the other set holds
+            CardSet other = (CardSet) cards;
+            long otherLow = other.low;
+            long otherHigh = other.high;
+            boolean changed = (otherLow | otherHigh) != 0;
+            while (otherLow != 0) {
+                addCopies(Long.numberOfTrailingZeros(otherLow), other);
+                otherLow &= otherLow - 1;
+            }
+            while (otherHigh != 0) {
+                addCopies(Long.SIZE + Long.numberOfTrailingZeros(otherHigh), other);
+                otherHigh &= otherHigh - 1;
+            }
+            return changed;
+        }
+        return super.addAll(cards);
+    }
+
+    private void addCopies(int id, CardSet other) {
+        for (int i = other.counts[id]; i > 0; i--) {
+            addId(id);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        low = 0;
+        high = 0;
+        Arrays.fill(counts, 0);
+        Arrays.fill(colorCounts, 0);
+        Arrays.fill(colorValueSums, 0);
+        colorMask = 0;
+        size = 0;
+    }
+
+    /**
+     * Iterates in {@link CardComparator} order, repeating each card once per copy held.
+     */
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long remainingLow = low;
+            private long remainingHigh = high;
+            private int currentId = -1;
+            // Copies of currentId still to be returned
+            private int copiesLeft;
+            private int lastId = -1;
+
+            @Override
+            public boolean hasNext() {
+                return copiesLeft > 0 || (remainingLow | remainingHigh) != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (copiesLeft == 0) {
+                    if (remainingLow != 0) {
+                        currentId = Long.numberOfTrailingZeros(remainingLow);
+                        remainingLow &= remainingLow - 1;
+                    } else if (remainingHigh != 0) {
+                        currentId = Long.SIZE + Long.numberOfTrailingZeros(remainingHigh);
+                        remainingHigh &= remainingHigh - 1;
+                    } else {
+                        throw new NoSuchElementException();
+                    }
+                    copiesLeft = counts[currentId];
+                }
+                copiesLeft--;
+                lastId = currentId;
+                return Card.of(lastId);
+            }
+
+            @Override
+            public void remove() {
+                if (lastId < 0) {
+                    throw new IllegalStateException();
+                }
+                removeId(lastId);
+                lastId = -1;
+            }
+        };
+    }
+}
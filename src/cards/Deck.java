@@ -1,8 +1,7 @@
 package cards;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import constants.GameplayConstants;
+import java.util.SplittableRandom;
 
 // Instance Variables
 // Constructors
@@ -11,42 +10,105 @@ import java.util.List;
 public class Deck {
 
     // Instance Variables
-    private final List<Card> CARDS;
+    // The deck stores card ids in draw order; cards before the cursor have been drawn.
+    private final byte[] CARDS;
+    private int cursor;
+    private final long SEED;
+    private final int DECK_COUNT;
+    private final SplittableRandom random;
 
     // Constructors
     public Deck() {
-        CARDS = new ArrayList<>();
-        // Initialize the deck with 66 cards; adjust as needed based on game rules.
-        // For each color and value combination, add a new Card.
-        for (CardColor color : CardColor.values()) {
-            for (int value = 0; value <= 10; value++) {
-                // Adjust the number of cards per value if needed.
-                CARDS.add(new Card(color, value));
-            }
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a deck whose shuffles are fully determined by the seed, so a game can be replayed.
+     *
+     * @param seed The seed for this deck's shuffles
+     */
+    public Deck(long seed) {
+        this(1, seed);
+    }
+
+    /**
+     * Creates several decks shuffled together, for Mega Parade tables. One deck shuffles exactly
+     * like {@link #Deck(long)} with the same seed.
+     *
+     * @param deckCount How many 66-card decks to combine
+     * @param seed      The seed for this deck's shuffles
+     */
+    public Deck(int deckCount, long seed) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("A game needs at least one deck, got " + deckCount);
+        }
+        CARDS = new byte[Card.NUM_CARDS * deckCount];
+        // Initialize the deck with deckCount copies of each of the 66 cards.
+        for (int i = 0; i < CARDS.length; i++) {
+            CARDS[i] = (byte) (i % Card.NUM_CARDS);
         }
+        this.DECK_COUNT = deckCount;
+        this.SEED = seed;
+        this.random = new SplittableRandom(seed);
         shuffle();
     }
 
     // Instance Methods
 
-    // 1. shuffle() method to shuffle the deck of cards.
+    // 1. shuffle() method to shuffle the cards that have not been drawn yet (Fisher-Yates).
     public void shuffle() {
-        Collections.shuffle(CARDS);
+        for (int i = CARDS.length - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            byte tmp = CARDS[i];
+            CARDS[i] = CARDS[j];
+            CARDS[j] = tmp;
+        }
     }
 
-    // 2. drawCard() to remove cards when a card is drawn.
+    // 2. drawCard() to hand out the next card; drawing only advances the cursor.
     public Card drawCard() {
-        if (CARDS.isEmpty()) {
+        if (cursor == CARDS.length) {
             return null;
         }
-        return CARDS.remove(0);
+        return Card.of(CARDS[cursor++]);
     }
 
     public boolean isEmpty() {
-        return CARDS.isEmpty();
+        return cursor == CARDS.length;
+    }
+
+    public int size() {
+        return CARDS.length - cursor;
+    }
+
+    // Id of the card that will be drawn after `offset` more draws, without drawing it
+    public int peekId(int offset) {
+        return CARDS[cursor + offset];
+    }
+
+    // Number of cards drawn so far
+    public int getCursor() {
+        return cursor;
+    }
+
+    public long getSeed() {
+        return SEED;
+    }
+
+    // Number of 66-card decks combined; every card appears this many times
+    public int getDeckCount() {
+        return DECK_COUNT;
+    }
+
+    /**
+     * @return the number of decks a table of this size plays with: one for up to
+     *         {@link GameplayConstants#MAX_NUM_PLAYERS} players and one more for each further group
+     */
+    public static int decksFor(int numPlayers) {
+        return Math.max(1, (numPlayers + GameplayConstants.MAX_NUM_PLAYERS - 1) / GameplayConstants.MAX_NUM_PLAYERS);
     }
 
     public void clearDeck() {
-        CARDS.clear();
+        cursor = CARDS.length;
     }
 }
@@ -0,0 +1,157 @@
+package cards;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The parade, front first, stored as a growable ring buffer of card ids.
+ * Playing a card is an O(1) push to the front and captured cards are removed in a single stable
+ * compaction pass, so a whole play is linear in the parade length.
+ * It can be viewed as a regular {@code List<Card>} for display.
+ */
+public class Parade extends AbstractList<Card> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Capacity is always a power of two so positions wrap with a mask
+    private byte[] ids;
+    private int head;
+    private int size;
+
+    public Parade() {
+        ids = new byte[INITIAL_CAPACITY];
+    }
+
+    public Parade(Collection<Card> cards) {
+        this();
+        addAll(cards);
+    }
+
+    private int slot(int index) {
+        return (head + index) & (ids.length - 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = ids.length;
+        while (newCapacity < capacity) {
+            newCapacity <<= 1;
+        }
+        byte[] grown = new byte[newCapacity];
+        for (int i = 0; i < size; i++) {
+            grown[i] = ids[slot(i)];
+        }
+        ids = grown;
+        head = 0;
+    }
+
+    /**
+     * @return the id of the card at the given position from the front
+     */
+    public int getId(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return ids[slot(index)];
+    }
+
+    /**
+     * Adds a card to the front of the parade.
+     */
+    public void pushFront(Card card) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (ids.length - 1);
+        ids[head] = (byte) card.getId();
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the card at the front of the parade.
+     *
+     * @return the removed card
+     */
+    public Card popFront() {
+        Card front = get(0);
+        head = (head + 1) & (ids.length - 1);
+        size--;
+        modCount++;
+        return front;
+    }
+
+    /**
+     * Removes every card captured by the card at the front of the parade: the first
+     * {@code value} cards (counting the played card) are safe, and any later card of the same
+     * color or with a value lower than or equal to the played card is taken.
+     * The remaining cards keep their order.
+     *
+     * @param taken Receives the captured cards, in parade order
+     */
+    public void removeCaptured(Collection<Card> taken) {
+        Card played = get(0);
+        int playedValue = played.getValue();
+        CardColor playedColor = played.getColor();
+
+        int write = Math.min(playedValue, size);
+        for (int read = write; read < size; read++) {
+            byte id = ids[slot(read)];
+            Card checkCard = Card.of(id);
+            if (checkCard.getColor() == playedColor || checkCard.getValue() <= playedValue) {
+                taken.add(checkCard);
+            } else {
+                ids[slot(write++)] = id;
+            }
+        }
+        size = write;
+        modCount++;
+    }
+
+    @Override
+    public Card get(int index) {
+        return Card.of(getId(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, Card card) {
+        if (index == 0) {
+            pushFront(card);
+            return;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        for (int i = size; i > index; i--) {
+            ids[slot(i)] = ids[slot(i - 1)];
+        }
+        ids[slot(index)] = (byte) card.getId();
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Card remove(int index) {
+        Card removed = get(index);
+        for (int i = index; i < size - 1; i++) {
+            ids[slot(i)] = ids[slot(i + 1)];
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ids, (byte) 0);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+}
@@ -22,6 +22,9 @@ public class GameplayConstants {
     // Default card choice index for players
     public static final int DEFAULT_CARD_CHOICE_INDEX = 0;
 
+    // Typed instead of a card position to ask for a suggested play
+    public static final String HINT_COMMAND = "hint";
+
     // In timed mode, how many cards to discard at the end
     public static final int FINAL_DISCARD_COUNT = 2;
 
@@ -59,4 +62,7 @@ public class GameplayConstants {
     public static final int NUM_PLAYERS_IN_SINGLEPLAYER_MODE = 1;
     public static final int MAX_NUM_PLAYERS = 8;
     public static final int MIN_NUM_PLAYERS = 2;
+
+    // Mega Parade: bigger tables shuffle one more deck in for every MAX_NUM_PLAYERS seats
+    public static final int MAX_MEGA_NUM_PLAYERS = 24;
 }
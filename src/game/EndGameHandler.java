@@ -121,27 +121,21 @@ public class EndGameHandler {
                 // Bot player discards two cards in sequence
                 ui.broadcastMessage(PlayerDisplayUtils.getDisplayName(currentPlayer) + " discards their first card!");
                 Card firstDiscardedCard = currentPlayer.chooseCardToDiscard();
-                turnManager.displayCardPlayedOrDiscarded(currentPlayer, firstDiscardedCard, "Discards");
+                turnManager.displayDiscard(gameState, currentPlayer, firstDiscardedCard);
 
                 ui.broadcastMessage(PlayerDisplayUtils.getDisplayName(currentPlayer) + " discards their second card!");
                 Card secondDiscardedCard = currentPlayer.chooseCardToDiscard();
-                turnManager.displayCardPlayedOrDiscarded(currentPlayer, secondDiscardedCard, "Discards");
+                turnManager.displayDiscard(gameState, currentPlayer, secondDiscardedCard);
             }
 
             // Add remaining cards to player's river
-            ArrayList<Card> currentPlayerRiver = currentPlayer.getRiver();
+            CardSet currentPlayerRiver = currentPlayer.getRiver();
             ArrayList<Card> currentPlayerHand = currentPlayer.getHand();
-            for (Card c : currentPlayerHand) {
-                currentPlayerRiver.add(c);
-            }
+            currentPlayerRiver.addAll(currentPlayerHand);
             currentPlayerHand.clear();
 
-            // Display the final river
-            Collections.sort(currentPlayerRiver, new CardComparator());
-            ui.broadcastMessage("\n");
-            ui.broadcastMessage(PlayerDisplayUtils.getDisplayName(currentPlayer) + "'s River: ");
-            ui.broadcastMessage(CardPrinter.printCardRow(currentPlayerRiver, true));
-            ui.broadcastMessage("\n");
+            // Display the final river (already in sorted order)
+            ui.displayRiver(gameState, currentPlayer);
         }
     }
 
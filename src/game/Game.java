@@ -1,5 +1,6 @@
 package game;
 
+import cards.Deck;
 import constants.GameplayConstants;
 import constants.UIConstants;
 import java.util.*;
@@ -11,18 +12,24 @@ import ui.UserInterface;
 public class Game {
 
     private UserInterface ui;
-    private GameServerEndpoint gse;
+    private InputQueue input;
     private Scanner scanner;
     private GameState gameState;
 
     // Timer-related fields for timed mode
     private boolean timedMode = false;
 
-    public Game(ArrayList<Player> players, UserInterface ui, GameServerEndpoint gse, Scanner scanner) {
-        this.gameState = new GameState(players);
+    /**
+     * @param input Where remote players' input arrives: the room's queue in multiplayer
+     */
+    public Game(ArrayList<Player> players, Deck deck, UserInterface ui, InputQueue input, Scanner scanner) {
+        this.gameState = new GameState(players, deck);
+        for (Player p : players) {
+            p.observeGame(gameState);
+        }
         // this.combinedPlayers = players;
         this.ui = ui;
-        this.gse = gse;
+        this.input = input;
         this.scanner = scanner;
     }
 
@@ -79,6 +86,14 @@ public class Game {
 
         System.out.println(UIConstants.PRESS_ENTER_TO_START);
         scanner.nextLine();
+        return startGame(gameMode);
+    }
+
+    /**
+     * Plays a game in a mode that has already been chosen and initialized, without asking the
+     * console anything; rooms on a dedicated server start their games this way.
+     */
+    public TreeMap<Integer, ArrayList<Player>> startGame(GameMode gameMode) {
         // Countdown to game start after game mode selection
         ConsoleUtils.displayCountdown(ui);
         
@@ -86,10 +101,11 @@ public class Game {
         gameState.initializeParade(GameplayConstants.INITIAL_PARADE_LENGTH);
         
         // Create turn manager
-        TurnManager turnManager = new TurnManager(ui, scanner);
+        TurnManager turnManager = new TurnManager(ui, scanner, input);
         
 
         // Display timed mode info if applicable
+        timedMode = gameMode instanceof TimedMode;
         TimedMode timedGameMode = getTimedGameMode(gameMode);
         if (timedGameMode != null) {
             ui.broadcastMessage("\n═══ TIMED MODE ACTIVE ═══\n");
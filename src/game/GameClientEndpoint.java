@@ -1,7 +1,10 @@
 package game;
 
 import account.*;
+import cards.Card;
+import constants.GameplayConstants;
 import constants.UIConstants;
+import ui.GameRenderer;
 
 import java.io.*;
 import jakarta.websocket.*;
@@ -20,6 +23,13 @@ public class GameClientEndpoint{
     private CountDownLatch latch;
     private AccountFileManager acctMgr = new AccountFileManager();
     private boolean isShuttingDown = false;
+    // Display names by seat, from the last roster the server sent
+    private List<String> playerNames = new ArrayList<>();
+    private final FrameHandler frameHandler = new FrameHandler();
+    // The board as of the last update, rebuilt from deltas between keyframes
+    private final VersionedBoard board = new VersionedBoard();
+    // Set once a keyframe has been asked for, so a desync is only reported once
+    private boolean resyncRequested = false;
 
 
     public GameClientEndpoint(URI endpointURI, Scanner sc) throws DeploymentException, IOException {
@@ -60,39 +70,148 @@ public class GameClientEndpoint{
 
     @OnMessage
     public void onMessage(String message) {
+        showText(message);
+    }
+
+    private void showText(String message) {
         // Check if this is a new turn marker and clear any pending input
         if (message.contains("TURN") && message.contains("===============")) {
             InputManager.clearInput();
             return;
         }
+        System.out.println(message);
+    }
+
+    /**
+     * Renders the game from the server's {@link GameProtocol} records and answers its prompts.
+     */
+    private class FrameHandler implements GameProtocol.Handler {
+        @Override
+        public void onText(String text) {
+            showText(text);
+        }
+
+        @Override
+        public void onRoster(List<String> names) {
+            playerNames = names;
+        }
+
+        @Override
+        public void onState(long version, int currentSeat, List<List<Card>> rivers, List<Card> parade) {
+            board.applyKeyframe(version, currentSeat, rivers, parade);
+            resyncRequested = false;
+            showBoard(currentSeat);
+        }
+
+        @Override
+        public void onBoard(long version, int currentSeat) {
+            if (board.show(version, currentSeat)) {
+                showBoard(currentSeat);
+            } else {
+                System.out.println("(The board is out of date and will be shown again next turn.)");
+                requestResync();
+            }
+        }
+
+        @Override
+        public void onHand(List<Card> hand) {
+            for (String line : GameRenderer.renderHand(hand)) {
+                System.out.println(line);
+            }
+        }
+
+        @Override
+        public void onPlay(long version, int seat, Card card, List<Card> taken) {
+            for (String line : GameRenderer.renderPlay(nameOf(seat), card, taken)) {
+                System.out.println(line);
+            }
+            if (!board.applyPlay(version, seat, card, taken)) {
+                requestResync();
+            }
+        }
+
+        @Override
+        public void onRiver(long version, int seat, List<Card> river) {
+            for (String line : GameRenderer.renderRiver(nameOf(seat), river)) {
+                System.out.println(line);
+            }
+            if (!board.applyRiver(version, seat, river)) {
+                requestResync();
+            }
+        }
+
+        @Override
+        public void onPrompt(int kind, int handSize, boolean hintAvailable, long timeoutMillis) {
+            long timeout = timeoutMillis > 0 ? timeoutMillis : TimeUnit.SECONDS.toMillis(GameplayConstants.NUM_SECONDS_TILL_TIMEOUT);
+            switch (kind) {
+                case GameProtocol.PROMPT_PLAY:
+                case GameProtocol.PROMPT_DISCARD:
+                    promptForCard(kind == GameProtocol.PROMPT_DISCARD, handSize, hintAvailable, timeout);
+                    break;
+                case GameProtocol.PROMPT_END_TURN:
+                    promptForEnter(GameRenderer.END_TURN_PROMPT, "\nAuto-advancing turn...", timeout);
+                    break;
+                case GameProtocol.PROMPT_CONTINUE:
+                    promptForEnter(GameRenderer.CONTINUE_PROMPT, "\nAuto-continuing...", timeout);
+                    break;
+                default:
+                    System.out.println("Received unknown prompt: " + kind);
+            }
+        }
+    }
+
+    private void showBoard(int currentSeat) {
+        for (String line : GameRenderer.renderBoard(playerNames, currentSeat, board.getRivers(), board.getParade())) {
+            System.out.println(line);
+        }
+    }
+
+    // Asks the server for a keyframe, which comes with the next board update
+    private void requestResync() {
+        if (resyncRequested) {
+            return;
+        }
+        resyncRequested = true;
+        try {
+            session.getBasicRemote().sendBinary(GameProtocol.resyncRequest());
+        } catch (IOException e) {
+            System.err.println("Error requesting the board: " + e.getMessage());
+        }
+    }
+
+    private String nameOf(int seat) {
+        return seat < playerNames.size() ? playerNames.get(seat) : "Player " + (seat + 1);
+    }
+
+    private void promptForCard(boolean isDiscard, int handSize, boolean hintAvailable, long timeoutMillis) {
+        System.out.println(GameRenderer.renderCardPrompt(handSize, hintAvailable));
+
+        new Thread(() -> {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                while (true) {
+                    if (isDiscard) {
+                        System.out.print("Enter the position of the card you want to discard: " + UIConstants.ConsoleInput);
+                    } else {
+                        System.out.print("Enter your input" + UIConstants.ConsoleInput);
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    String input = remaining > 0 ? InputManager.waitForInputWithTimeout(remaining, TimeUnit.NANOSECONDS) : null;
 
-        if (message.contains("Your turn! Number of cards:") || message.contains("Your turn to discard! Number of cards:")) {
-            // Handle the number of cards prompt
-            String[] messageArr = message.split(":");
-            int numCards = Integer.parseInt(messageArr[messageArr.length - 1].trim());
-            
-            new Thread(() -> {
-                String input;
-                int choice = -1;
-                
-                System.out.println(message);
-                
-                if (message.contains("discard")) {
-                    System.out.print("Enter the position of the card you want to discard: " + UIConstants.ConsoleInput);
-                } else {
-                    System.out.print("Enter your input" + UIConstants.ConsoleInput);
-                }
-                
-                try {
-                    input = InputManager.waitForInputWithTimeout(30, TimeUnit.SECONDS);
-                    
                     // Handle timeout case
                     if (input == null) {
                         System.out.println("\nTime's up! Using default action.");
                         session.getBasicRemote().sendText("0");
                         return;
                     }
-                    
+
+                    // The server answers a hint request and keeps waiting for the card
+                    if (hintAvailable && input.trim().equalsIgnoreCase(GameplayConstants.HINT_COMMAND)) {
+                        session.getBasicRemote().sendText(GameplayConstants.HINT_COMMAND);
+                        continue;
+                    }
+
                     // Validate and parse input
                     if (!isNumeric(input)) {
                         System.out.println("❌ Invalid input (not a number). Using default action (0).");
@@ -100,79 +219,60 @@ public class GameClientEndpoint{
                         return;
                     }
 
-                    int handSize = numCards;
-                    choice = Integer.parseInt(input);
-
+                    int choice = Integer.parseInt(input);
                     if (choice >= 0 && choice < handSize) {
                         session.getBasicRemote().sendText(String.valueOf(choice));
                     } else {
                         System.out.println("\n❌ Invalid choice. Using default action (0).");
                         session.getBasicRemote().sendText("0");
                     }
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                } catch (IOException e) {
-                    e.printStackTrace();
+                    return;
                 }
-            }).start();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }).start();
+    }
 
-        } else if (message.contains("[ENTER] End Turn")) {
-            // Handle the turn advancement prompt
-            System.out.println(message);
-            
-            new Thread(() -> {
-                System.out.println("[ENTER] Continue (30s)");
-                
-                try {
-                    // Wait for ENTER with timeout
-                    String input = InputManager.waitForInputWithTimeout(30, TimeUnit.SECONDS);
-                    
-                    // If timeout occurred, auto-advance
-                    if (input == null) {
-                        System.out.println("\nAuto-advancing turn...");
-                    } else {
-                        // User pressed ENTER
-                        clearTurnConsole();
-                    }
-                    
-                    // In either case, send the end-turn signal
-                    session.getBasicRemote().sendText("");
-                } catch (InterruptedException | IOException e) {
-                    e.printStackTrace();
-                }
-            }).start();
+    private void promptForEnter(String prompt, String timeoutMessage, long timeoutMillis) {
+        System.out.println(prompt);
 
-        } else if (message.contains("Any player can hit ENTER to continue...")) {
-            // Handle the prompt allowing any player to hit ENTER to continue
-            System.out.println(message);
-            
-            new Thread(() -> {
-                System.out.println("[ENTER] Continue (30s)");
-                
-                try {
-                    // Wait with timeout
-                    String input = InputManager.waitForInputWithTimeout(30, TimeUnit.SECONDS);
-                    
-                    // Handle timeout or input
-                    if (input == null) {
-                        System.out.println("\nAuto-continuing...");
-                    } else {
-                        clearTurnConsole();
-                    }
-                    
-                    // Send empty string to signal continuation
-                    session.getBasicRemote().sendText("");
-                } catch (InterruptedException | IOException e) {
-                    e.printStackTrace();
+        new Thread(() -> {
+            System.out.println("[ENTER] Continue (" + TimeUnit.MILLISECONDS.toSeconds(timeoutMillis) + "s)");
+
+            try {
+                // Wait for ENTER with timeout
+                String input = InputManager.waitForInputWithTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+                // If timeout occurred, auto-advance
+                if (input == null) {
+                    System.out.println(timeoutMessage);
+                } else {
+                    // User pressed ENTER
+                    clearTurnConsole();
                 }
-            }).start();
-        } else {
-            System.out.println(message);
-        }
+
+                // In either case, send the end-turn signal
+                session.getBasicRemote().sendText("");
+            } catch (InterruptedException | IOException e) {
+                e.printStackTrace();
+            }
+        }).start();
     }
 
     @OnMessage
     public void onMessage(Session session, ByteBuffer byteBuffer) {
+        if (GameProtocol.isFrame(byteBuffer)) {
+            try {
+                GameProtocol.decode(byteBuffer, frameHandler);
+            } catch (RuntimeException e) {
+                System.err.println("Error reading game update: " + e.getMessage());
+            }
+            return;
+        }
+
         try {
             // Convert ByteBuffer to byte array
             byte[] data = new byte[byteBuffer.remaining()];
@@ -13,10 +13,12 @@ import java.util.HashMap;
 import org.glassfish.tyrus.server.*;
 import jakarta.websocket.*;
 
+import cards.Deck;
 import players.Player;
 import players.PlayerManager;
 import players.computer.BeginnerComputerPlayer;
 import players.computer.IntermediateComputerPlayer;
+import players.computer.ExpertComputerPlayer;
 import players.human.HumanPlayer;
 import account.Account;
 import account.AccountFileManager;
@@ -33,7 +35,8 @@ public class GameManager {
     Scanner sc;
     PlayerManager playerMgr = new PlayerManager();
     UserInterface ui;
-    GameServerEndpoint gse;
+    // The table a multiplayer game is played at; null in single player
+    GameRoom room;
     private Map<Session, Account> sessions;
     int numBots;
 
@@ -42,12 +45,12 @@ public class GameManager {
         this.sc = sc;
     }
 
-    public void start(UserInterface ui, GameServerEndpoint gse) {
+    public void start(UserInterface ui, GameRoom room) {
         this.ui = ui;
-        this.gse = gse;
+        this.room = room;
 
-        if (gse != null) {
-            this.sessions = GameServerEndpoint.getSessionPlayers();
+        if (room != null) {
+            this.sessions = room.getSessionPlayers();
         } else {
             this.sessions = new HashMap<Session, Account>();
         }
@@ -58,12 +61,33 @@ public class GameManager {
             multiplayerHandler();
         }
 
-        Game g = new Game(playerMgr.getPlayers(), ui, gse, sc);
+        InputQueue input = room != null ? room.getInput() : InputManager.getConsoleQueue();
+        Game g = new Game(playerMgr.getPlayers(), playerMgr.getDeck(), ui, input, sc);
         TreeMap<Integer, ArrayList<Player>> scores = g.startGame();
         printRankings(scores);
         handleRewards(scores);
     }
 
+    /**
+     * Plays a Classic game in a room on a dedicated server, with the players who have joined it
+     * and the given bots. Nothing is asked on the console.
+     *
+     * @param botLevel 1, 2 or 3, as when adding bots from the console
+     */
+    public void hostRoom(GameRoom room, int numBots, int botLevel) {
+        this.room = room;
+        this.ui = new MultiplayerUI(new GameServerEndpoint(), room);
+        this.sessions = room.getSessionPlayers();
+
+        playerMgr.initializeHumanPlayers(sessions, true);
+        playerMgr.initializeComputerPlayers(numBots, botLevel);
+
+        Game g = new Game(playerMgr.getPlayers(), playerMgr.getDeck(), ui, room.getInput(), sc);
+        TreeMap<Integer, ArrayList<Player>> scores = g.startGame(new ClassicMode());
+        printRankings(scores);
+        handleRewards(scores);
+    }
+
     public void singleplayerHandler() {
         boolean isMulti = false;
         AccountFileManager acctMgr = new AccountFileManager();
@@ -76,7 +100,8 @@ public class GameManager {
     public void multiplayerHandler() {
         boolean isMulti = true;
         humanHandler();
-        sessions = GameServerEndpoint.getSessionPlayers();
+        room.start();
+        sessions = room.getSessionPlayers();
         playerMgr.initializeHumanPlayers(sessions, isMulti);
 
         while (true) {
@@ -132,7 +157,7 @@ public class GameManager {
 
     public int botHandler(int numPlayers) {
         int numBots = 0;
-        int maximumNumberOfBots = GameplayConstants.MAX_NUM_PLAYERS - numPlayers;
+        int maximumNumberOfBots = GameplayConstants.MAX_MEGA_NUM_PLAYERS - numPlayers;
         int minimumNumberOfBots = Math.max(GameplayConstants.MIN_NUM_PLAYERS - numPlayers, 1);
 
         ConsoleUtils.clear();
@@ -144,11 +169,15 @@ public class GameManager {
                 if (numBots > maximumNumberOfBots || numBots < minimumNumberOfBots) {
                     throw new NumberFormatException();
                 }
+                if (numPlayers + numBots > GameplayConstants.MAX_NUM_PLAYERS) {
+                    System.out.println(UIConstants.RESET_COLOR + "\n🎉 Mega Parade! " + (numPlayers + numBots) + " players share "
+                                       + Deck.decksFor(numPlayers + numBots) + " decks.");
+                }
                 playerMgr.initializeComputerPlayers(numBots);
                 return numBots;
 
             } catch (NumberFormatException e) {
-                // Max number of bots able to be added : 8 - numplayers
+                // Max number of bots able to be added : 24 - numplayers (Mega Parade above 8)
                 // Min number of bots to be added : 2 - numplayers
                 System.out.println(UIConstants.RESET_COLOR + "\n❌ Please enter a valid number! Number of total players must be between "
                                    + minimumNumberOfBots + " and " + maximumNumberOfBots);
@@ -163,9 +192,9 @@ public class GameManager {
         while (true) {
             System.out.print("Waiting for players... Type \"START\" to start the game" + UIConstants.ConsoleInput);
             String command = sc.nextLine();
-            if (command.toUpperCase().trim().equals("START") && GameServerEndpoint.getNumPlayers() > 0) {
+            if (command.toUpperCase().trim().equals("START") && room.getNumPlayers() > 0) {
                 return;
-            } else if (command.toUpperCase().trim().equals("START") && GameServerEndpoint.getNumPlayers() < GameplayConstants.MIN_NUM_PLAYERS) {
+            } else if (command.toUpperCase().trim().equals("START") && room.getNumPlayers() < GameplayConstants.MIN_NUM_PLAYERS) {
                 System.out.println("Invalid number of players. Make sure that there is more than one!");
             } else {
                 System.out.println("Invalid command. Type \"START\" to start the game" + UIConstants.ConsoleInput);
@@ -230,6 +259,7 @@ public class GameManager {
                 try {
                     ArrayList<BeginnerComputerPlayer> bcpList = new ArrayList<BeginnerComputerPlayer>();
                     ArrayList<IntermediateComputerPlayer> icpList = new ArrayList<IntermediateComputerPlayer>();
+                    ArrayList<ExpertComputerPlayer> ecpList = new ArrayList<ExpertComputerPlayer>();
                     HumanPlayer humanPlayer = null;
                     AccountFileManager acctMgr = new AccountFileManager();
                     Account account = null;
@@ -239,6 +269,8 @@ public class GameManager {
                             bcpList.add((BeginnerComputerPlayer)player);
                         } else if (player instanceof IntermediateComputerPlayer) {
                             icpList.add((IntermediateComputerPlayer)player);
+                        } else if (player instanceof ExpertComputerPlayer) {
+                            ecpList.add((ExpertComputerPlayer)player);
                         } else {
                             humanPlayer = (HumanPlayer)player;
                         }
@@ -251,6 +283,7 @@ public class GameManager {
                         double bonus = 0;
                         bonus += (100 * bcpList.size());
                         bonus += (200 * icpList.size());
+                        bonus += (300 * ecpList.size());
                         ui.displayMessage(String.format("Congratulations! You won %.1f credits!", bonus), null);
                         account.addBalance(bonus);
                         acctMgr.save(account);
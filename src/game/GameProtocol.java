@@ -0,0 +1,375 @@
+package game;
+
+import cards.Card;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The binary messages a multiplayer server sends its clients.
+ *
+ * The server sends game data, such as card ids, rivers, the parade and prompts, and each client
+ * draws the screen itself with {@link ui.GameRenderer}. A frame is {@link #MAGIC}, {@link #VERSION}
+ * and then any number of records. Each record is a type byte followed by a payload that says how
+ * long it is, so records from several calls can be concatenated into one frame. Cards are one
+ * byte each (their id), counts and seats are one byte, and text lengths, timeouts and board
+ * versions are unsigned varints. A Java-serialized object always starts with 0xAC, so clients
+ * can tell the two kinds of binary message apart.
+ *
+ * The public board is versioned (see {@link VersionedBoard}). A {@link #STATE} keyframe carries
+ * the whole board; after that, {@link #PLAY} and {@link #RIVER} records are deltas that each
+ * bring it to the next version, and a {@link #BOARD} record only asks for the board to be shown
+ * at a version. A client that misses an update sends a {@link #resyncRequest()} and gets a
+ * keyframe with the next update.
+ */
+public class GameProtocol {
+    public static final byte MAGIC = 'P';
+    public static final byte VERSION = 2;
+
+    // Record types
+    public static final int TEXT = 0;
+    public static final int ROSTER = 1;
+    public static final int STATE = 2;
+    public static final int HAND = 3;
+    public static final int PLAY = 4;
+    public static final int RIVER = 5;
+    public static final int PROMPT = 6;
+    public static final int BOARD = 7;
+    // Sent by clients
+    public static final int RESYNC = 8;
+
+    // Prompt kinds
+    public static final int PROMPT_PLAY = 0;
+    public static final int PROMPT_DISCARD = 1;
+    public static final int PROMPT_END_TURN = 2;
+    public static final int PROMPT_CONTINUE = 3;
+
+    private static final int MAX_NAME_BYTES = 255;
+
+    /**
+     * Receives the records of a frame in order.
+     */
+    public interface Handler {
+        void onText(String text);
+
+        void onRoster(List<String> names);
+
+        /**
+         * A keyframe, to be shown.
+         *
+         * @param rivers Every player's river, in turn order
+         * @param parade The parade, front first
+         */
+        void onState(long version, int currentSeat, List<List<Card>> rivers, List<Card> parade);
+
+        /**
+         * Asks for the board to be shown as it is at the given version.
+         */
+        void onBoard(long version, int currentSeat);
+
+        void onHand(List<Card> hand);
+
+        /**
+         * @param version The board version after the play
+         * @param taken   The cards taken from the parade, or null for a discard
+         */
+        void onPlay(long version, int seat, Card card, List<Card> taken);
+
+        /**
+         * @param version The board version after the river was replaced
+         */
+        void onRiver(long version, int seat, List<Card> river);
+
+        /**
+         * @param timeoutMillis How long the server waits for an answer, or 0 if it waits indefinitely
+         */
+        void onPrompt(int kind, int handSize, boolean hintAvailable, long timeoutMillis);
+    }
+
+    private GameProtocol() {
+    }
+
+    /**
+     * @return free text, for messages that aren't game data
+     */
+    public static byte[] text(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length + 6);
+        out.write(TEXT);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the display names of every player, in turn order; later records refer to seats
+     */
+    public static byte[] roster(List<String> names) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ROSTER);
+        out.write(names.size());
+        for (String name : names) {
+            byte[] bytes = truncate(name);
+            out.write(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a keyframe of the public board: whose turn it is, every river and the parade
+     */
+    public static byte[] state(long version, int currentSeat, List<? extends Collection<Card>> rivers, List<Card> parade) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(STATE);
+        writeVarint(out, version);
+        out.write(currentSeat);
+        out.write(rivers.size());
+        for (Collection<Card> river : rivers) {
+            writeCards(out, river);
+        }
+        writeCards(out, parade);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a request to show the board at a version the client already has
+     */
+    public static byte[] board(long version, int currentSeat) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BOARD);
+        writeVarint(out, version);
+        out.write(currentSeat);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a player's own hand, for that player only
+     */
+    public static byte[] hand(List<Card> hand) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(HAND);
+        writeCards(out, hand);
+        return out.toByteArray();
+    }
+
+    /**
+     * @param version The board version after the play; a discard leaves it unchanged
+     * @param taken   The cards the play took from the parade, or null for a discard
+     */
+    public static byte[] play(long version, int seat, Card card, List<Card> taken) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(PLAY);
+        writeVarint(out, version);
+        out.write(seat);
+        out.write(card.getId());
+        if (taken == null) {
+            // No count can be this large, so it marks a discard
+            out.write(0xFF);
+        } else {
+            writeCards(out, taken);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param version The board version after the river is replaced
+     * @return a player's final river
+     */
+    public static byte[] river(long version, int seat, Collection<Card> river) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(RIVER);
+        writeVarint(out, version);
+        out.write(seat);
+        writeCards(out, river);
+        return out.toByteArray();
+    }
+
+    /**
+     * @param kind          One of the PROMPT_ constants
+     * @param timeoutMillis How long the server waits for an answer, or 0 if it waits indefinitely
+     */
+    public static byte[] prompt(int kind, int handSize, boolean hintAvailable, long timeoutMillis) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(PROMPT);
+        out.write(kind);
+        out.write(handSize);
+        out.write(hintAvailable ? 1 : 0);
+        writeVarint(out, timeoutMillis);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a client's request for a keyframe, as a complete frame
+     */
+    public static ByteBuffer resyncRequest() {
+        return ByteBuffer.wrap(new byte[] {MAGIC, VERSION, RESYNC});
+    }
+
+    /**
+     * @return whether a frame from a client asks for a keyframe
+     */
+    public static boolean isResyncRequest(ByteBuffer message) {
+        int start = message.position();
+        return message.remaining() == 3 && message.get(start) == MAGIC && message.get(start + 1) == VERSION
+                && message.get(start + 2) == RESYNC;
+    }
+
+    /**
+     * @return a frame holding the given records, ready to send
+     */
+    public static ByteBuffer frame(List<byte[]> records) {
+        int length = 2;
+        for (byte[] record : records) {
+            length += record.length;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        frame.put(MAGIC).put(VERSION);
+        for (byte[] record : records) {
+            frame.put(record);
+        }
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * @return whether the message is a frame of this protocol rather than a serialized object
+     */
+    public static boolean isFrame(ByteBuffer message) {
+        return message.remaining() >= 2 && message.get(message.position()) == MAGIC;
+    }
+
+    /**
+     * Reads every record of a frame, in order.
+     *
+     * @throws IllegalArgumentException if the frame is from another version or is malformed
+     */
+    public static void decode(ByteBuffer frame, Handler handler) {
+        if (frame.get() != MAGIC) {
+            throw new IllegalArgumentException("Not a game frame");
+        }
+        int version = frame.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported protocol version " + version + ", expected " + VERSION);
+        }
+
+        while (frame.hasRemaining()) {
+            int type = frame.get() & 0xFF;
+            switch (type) {
+                case TEXT: {
+                    byte[] bytes = new byte[(int) readVarint(frame)];
+                    frame.get(bytes);
+                    handler.onText(new String(bytes, StandardCharsets.UTF_8));
+                    break;
+                }
+                case ROSTER: {
+                    int count = frame.get() & 0xFF;
+                    List<String> names = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        byte[] bytes = new byte[frame.get() & 0xFF];
+                        frame.get(bytes);
+                        names.add(new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    handler.onRoster(names);
+                    break;
+                }
+                case STATE: {
+                    long stateVersion = readVarint(frame);
+                    int currentSeat = frame.get() & 0xFF;
+                    int numPlayers = frame.get() & 0xFF;
+                    List<List<Card>> rivers = new ArrayList<>(numPlayers);
+                    for (int i = 0; i < numPlayers; i++) {
+                        rivers.add(readCards(frame, frame.get() & 0xFF));
+                    }
+                    handler.onState(stateVersion, currentSeat, rivers, readCards(frame, frame.get() & 0xFF));
+                    break;
+                }
+                case BOARD: {
+                    long boardVersion = readVarint(frame);
+                    handler.onBoard(boardVersion, frame.get() & 0xFF);
+                    break;
+                }
+                case HAND:
+                    handler.onHand(readCards(frame, frame.get() & 0xFF));
+                    break;
+                case PLAY: {
+                    long playVersion = readVarint(frame);
+                    int seat = frame.get() & 0xFF;
+                    Card card = Card.of(frame.get());
+                    int takenCount = frame.get() & 0xFF;
+                    handler.onPlay(playVersion, seat, card, takenCount == 0xFF ? null : readCards(frame, takenCount));
+                    break;
+                }
+                case RIVER: {
+                    long riverVersion = readVarint(frame);
+                    int seat = frame.get() & 0xFF;
+                    handler.onRiver(riverVersion, seat, readCards(frame, frame.get() & 0xFF));
+                    break;
+                }
+                case PROMPT: {
+                    int kind = frame.get() & 0xFF;
+                    int handSize = frame.get() & 0xFF;
+                    boolean hintAvailable = frame.get() != 0;
+                    handler.onPrompt(kind, handSize, hintAvailable, readVarint(frame));
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown record type " + type);
+            }
+        }
+    }
+
+    // Every card collection fits in a byte: even three decks hold fewer than 255 cards
+    private static void writeCards(ByteArrayOutputStream out, Collection<Card> cards) {
+        out.write(cards.size());
+        for (Card card : cards) {
+            out.write(card.getId());
+        }
+    }
+
+    private static List<Card> readCards(ByteBuffer frame, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.of(frame.get()));
+        }
+        return cards;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer frame) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = frame.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    // Cuts a name to at most MAX_NAME_BYTES of UTF-8 without splitting a character
+    private static byte[] truncate(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return bytes;
+        }
+        int end = MAX_NAME_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+}
@@ -0,0 +1,202 @@
+package game;
+
+import account.Account;
+import constants.GameplayConstants;
+import jakarta.websocket.Session;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One table on the server: the players connected to it, the input they send and whether its
+ * game has started. Clients pick a room by the id in the WebSocket path, and rooms are created
+ * and removed by {@link RoomRegistry}.
+ *
+ * A room is open until its game starts, after which nobody else can join. It is closed once
+ * its game is over, or once its last player leaves before the game started.
+ */
+public class GameRoom {
+    // The room the host's own game uses, and the one clients join if they don't name one
+    public static final String DEFAULT_ID = "main";
+    // Broadcasts report the server's queues at most this often, however many rooms are playing
+    private static final long STATS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final AtomicLong nextStatsNanos = new AtomicLong(System.nanoTime());
+
+    private final String id;
+    // A pinned room belongs to a game on the host's console and stays open while it is empty
+    private final boolean pinned;
+    private final Map<Session, Account> sessions = new ConcurrentHashMap<>();
+    private final InputQueue input = new InputQueue();
+    // Sends keyframes to the sessions that asked for one; set by the game's UI once it starts
+    private volatile Runnable resyncHandler;
+    // Guarded by this
+    private boolean started;
+    private boolean closed;
+
+    GameRoom(String id, boolean pinned) {
+        this.id = id;
+        this.pinned = pinned;
+    }
+
+    /**
+     * Seats a player. A player whose username is already taken at this table gets a numbered one.
+     *
+     * @return the account as seated, or null if the game has started or the table is full or closed
+     */
+    public synchronized Account join(Session session, Account account) {
+        if (started || closed || sessions.size() >= GameplayConstants.MAX_MEGA_NUM_PLAYERS) {
+            return null;
+        }
+
+        // Ensures unique usernames for all players joining the game.
+        String originalUsername = account.getUsername();
+        String uniqueUsername = originalUsername;
+        int counter = 1;
+
+        // Check if this username already exists in any session
+        boolean isDuplicate = true;
+        while (isDuplicate) {
+            isDuplicate = false;
+            for (Account existingAccount : sessions.values()) {
+                if (existingAccount.getUsername().equals(uniqueUsername)) {
+                    uniqueUsername = originalUsername + "_" + counter++;
+                    isDuplicate = true;
+                    break;
+                }
+            }
+        }
+
+        // Create a new account with the unique username upon duplicate name joining
+        Account accountToStore;
+        if (!uniqueUsername.equals(originalUsername)) {
+            // Create new account with unique username and copy properties
+            accountToStore = new Account(
+                account.getId(),
+                uniqueUsername,
+                account.getWins(),
+                account.getLosses(),
+                account.getBalance(),
+                account.getWornFlair(),
+                new ArrayList<>(account.getUnlockedFlairs())
+            );
+        } else {
+            accountToStore = account;
+        }
+
+        sessions.put(session, accountToStore);
+        return accountToStore;
+    }
+
+    /**
+     * @return the account of the player who left, or null if the session never sat down
+     */
+    public Account leave(Session session) {
+        return sessions.remove(session);
+    }
+
+    /**
+     * Marks the game as started, so nobody else can join.
+     *
+     * @return false if it had already started or the room is closed
+     */
+    public synchronized boolean start() {
+        if (started || closed) {
+            return false;
+        }
+        started = true;
+        return true;
+    }
+
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    synchronized void close() {
+        closed = true;
+    }
+
+    /**
+     * Closes the room if nobody is in it and its game never started.
+     *
+     * @return whether the room is closed
+     */
+    synchronized boolean closeIfEmpty() {
+        if (!pinned && !started && sessions.isEmpty()) {
+            closed = true;
+        }
+        return closed;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    // Queues the message for every player; sends happen in the background, so this never blocks
+    public void broadcast(String message) {
+        logStats();
+
+        for (Map.Entry<Session, Account> entry : sessions.entrySet()) {
+            Session session = entry.getKey();
+            SessionOutbox outbox = GameServerEndpoint.getOutboundQueue(session);
+            if (session.isOpen() && outbox != null && !outbox.offer(message)) {
+                System.err.println("Broadcast dropped for lagging player: " + entry.getValue().getUsername());
+            }
+        }
+    }
+
+    // Queues a binary frame for every player; each session reads its own view of the buffer
+    public void broadcast(ByteBuffer frame) {
+        for (Map.Entry<Session, Account> entry : sessions.entrySet()) {
+            Session session = entry.getKey();
+            SessionOutbox outbox = GameServerEndpoint.getOutboundQueue(session);
+            if (session.isOpen() && outbox != null && !outbox.offer(frame.duplicate())) {
+                System.err.println("Broadcast dropped for lagging player: " + entry.getValue().getUsername());
+                GameServerEndpoint.requestResync(session);
+            }
+        }
+    }
+
+    public void setResyncHandler(Runnable handler) {
+        this.resyncHandler = handler;
+    }
+
+    // Has the game thread answer pending keyframe requests the next time it waits, rather than
+    // with the next board it sends
+    void resyncRequested() {
+        Runnable handler = resyncHandler;
+        if (handler != null) {
+            input.post(handler);
+        }
+    }
+
+    // Prints one line about the server's load, if nobody has in the last interval
+    private void logStats() {
+        long now = System.nanoTime();
+        long due = nextStatsNanos.get();
+        if (now - due >= 0 && nextStatsNanos.compareAndSet(due, now + STATS_INTERVAL_NANOS)) {
+            System.out.println("Room " + id + ": " + sessions.size() + " active sessions; " + RoomRegistry.getRoomCount()
+                    + " rooms, deepest outbound queue: " + GameServerEndpoint.getMaxQueueDepth());
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Map<Session, Account> getSessionPlayers() {
+        return sessions;
+    }
+
+    public int getNumPlayers() {
+        return sessions.size();
+    }
+
+    // Everything this room's players type
+    public InputQueue getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,74 @@
+package game;
+
+import constants.GameplayConstants;
+import org.glassfish.tyrus.server.Server;
+
+import java.util.Collections;
+import java.util.Scanner;
+
+/**
+ * A game server with no player at its console. Every WebSocket path {@code /game/<table>} is its
+ * own table; the first player to connect to a path opens it, and its game starts as soon as
+ * enough players have joined. Any number of tables play at once, each on its own thread.
+ *
+ * Usage: {@code java game.GameServer [--host <address>] [--port <port>] [--players <n>]
+ * [--bots <n>] [--bot-level <1-3>]}. Type {@code quit} on the console to stop the server.
+ */
+public class GameServer {
+    public static void main(String[] args) throws Exception {
+        String host = "0.0.0.0";
+        int port = 8080;
+        int playersToStart = 2;
+        int numBots = 0;
+        int botLevel = 2;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--host") && i + 1 < args.length) {
+                host = args[++i];
+            } else if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--players") && i + 1 < args.length) {
+                playersToStart = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--bots") && i + 1 < args.length) {
+                numBots = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--bot-level") && i + 1 < args.length) {
+                botLevel = Integer.parseInt(args[++i]);
+            } else {
+                System.out.println("Usage: GameServer [--host <address>] [--port <port>] [--players <n>] [--bots <n>] [--bot-level <1-3>]");
+                return;
+            }
+        }
+
+        int tableSize = playersToStart + numBots;
+        if (playersToStart < 1 || numBots < 0 || tableSize < GameplayConstants.MIN_NUM_PLAYERS
+                || tableSize > GameplayConstants.MAX_MEGA_NUM_PLAYERS) {
+            throw new IllegalArgumentException("A table needs " + GameplayConstants.MIN_NUM_PLAYERS + " to "
+                    + GameplayConstants.MAX_MEGA_NUM_PLAYERS + " seats and at least one player, not "
+                    + playersToStart + " players and " + numBots + " bots");
+        }
+        if (botLevel < 1 || botLevel > 3) {
+            throw new IllegalArgumentException("Bot level must be 1, 2 or 3, not " + botLevel);
+        }
+
+        int bots = numBots;
+        int level = botLevel;
+        RoomRegistry.hostGames(playersToStart, room -> new GameManager(null).hostRoom(room, bots, level));
+
+        Server server = new Server(host, port, "/", Collections.emptyMap(), GameServerEndpoint.class);
+        server.start();
+        System.out.println("Game server running on " + host + ":" + port + ". Players join with <address>:" + port
+                + "/<table>; each table starts once " + playersToStart + " players have joined"
+                + (numBots > 0 ? ", with " + numBots + (numBots == 1 ? " bot" : " bots") : "") + ".");
+        System.out.println("Type \"quit\" to stop the server.");
+
+        Scanner sc = new Scanner(System.in);
+        while (sc.hasNextLine()) {
+            String command = sc.nextLine().trim();
+            if (command.equalsIgnoreCase("quit")) {
+                break;
+            }
+            System.out.println(RoomRegistry.getRoomCount() + " tables open, " + RoomRegistry.getRunningGameCount()
+                    + " games in progress, deepest outbound queue: " + GameServerEndpoint.getMaxQueueDepth());
+        }
+        server.stop();
+    }
+}
@@ -1,6 +1,7 @@
 package game;
 
 import jakarta.websocket.*;
+import jakarta.websocket.server.PathParam;
 import jakarta.websocket.server.ServerEndpoint;
 
 import java.io.*;
@@ -10,24 +11,49 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.*;
 import account.*;
 
-@ServerEndpoint("/game")
+/**
+ * Where clients connect: {@code ws://<host>:<port>/game/<room>}. Each room is a separate table (see
+ * {@link GameRoom}); a session's input and broadcasts only reach the room it connected to.
+ */
+@ServerEndpoint("/game/{room}")
 public class GameServerEndpoint {
-    private static final Map<Session, Account> SESSIONS = new ConcurrentHashMap<>();
+    private static final String ROOM_PROPERTY = "room";
+    // Every connected session's pending messages, so a slow client never holds up the game
+    private static final Map<Session, SessionOutbox> OUTBOXES = new ConcurrentHashMap<>();
+    // Sessions whose copy of the board may be out of date, because they asked for a keyframe or
+    // one of their messages was dropped
+    private static final Set<Session> RESYNC_REQUESTS = ConcurrentHashMap.newKeySet();
 
     @OnOpen
-    public void onOpen(Session session) {
-        System.out.println("WebSocket connection opened: " + session.getId());
+    public void onOpen(Session session, @PathParam("room") String roomId) {
+        System.out.println("WebSocket connection opened: " + session.getId() + " in room " + roomId);
+        GameRoom room = RoomRegistry.join(roomId);
+        if (room == null) {
+            reject(session, "No room called " + roomId + " can be opened");
+            return;
+        }
+        session.getUserProperties().put(ROOM_PROPERTY, room);
         // Ensure the session is ready for communication
         session.setMaxIdleTimeout(0); // Disable idle timeout
+        // The only place an outbox is created; onClose removes it for good
+        OUTBOXES.put(session, new SessionOutbox(session));
     }
 
     @OnMessage
     public void onMessage(Session session, String message) {
-        InputManager.offerInput(message);
+        GameRoom room = roomOf(session);
+        if (room != null) {
+            room.getInput().offerInput(message);
+        }
     }
 
     @OnMessage
     public void onMessage(Session session, ByteBuffer byteBuffer) {
+        if (GameProtocol.isResyncRequest(byteBuffer)) {
+            requestResync(session);
+            return;
+        }
+
         try {
             // Convert ByteBuffer to byte array
             byte[] data = new byte[byteBuffer.remaining()];
@@ -40,49 +66,7 @@ public class GameServerEndpoint {
                 Object obj = ois.readObject();
     
                 if (obj instanceof Account) {
-                    Account originalAccount = (Account) obj;
-                    String originalUsername = originalAccount.getUsername();
-                    
-                    // Ensures unique usernames for all players joining the game. 
-                    String uniqueUsername = originalUsername;
-                    int counter = 1;
-    
-                    // Check if this username already exists in any session
-                    boolean isDuplicate = true;
-                    while (isDuplicate) {
-                        isDuplicate = false;
-                        for (Account existingAccount : SESSIONS.values()) {
-                            if (existingAccount.getUsername().equals(uniqueUsername)) {
-                                uniqueUsername = originalUsername + "_" + counter++;
-                                isDuplicate = true;
-                                break;
-                            }
-                        }
-                    }
-                    
-                    // Create a new account with the unique username upon duplicate name joining
-                    Account accountToStore;
-                    if (!uniqueUsername.equals(originalUsername)) {
-                        // Create new account with unique username and copy properties
-                        accountToStore = new Account(
-                            originalAccount.getId(),
-                            uniqueUsername,
-                            originalAccount.getWins(),
-                            originalAccount.getLosses(),
-                            originalAccount.getBalance(),
-                            originalAccount.getWornFlair(),
-                            new ArrayList<>(originalAccount.getUnlockedFlairs())
-                        );
-                    } else {
-                        accountToStore = originalAccount;
-                    }
-                    
-                    SESSIONS.put(session, accountToStore);
-                    System.out.println("Account received: " + accountToStore.getUsername());
-                    
-                    // Broadcast with explicit error handling
-                    broadcast(accountToStore.getUsername() + " has joined the game.");
-                    System.out.println("Type \"START\" to start the game");
+                    seat(session, (Account) obj);
                 } else {
                     System.out.println("Received unknown object type: " + obj.getClass().getName());
                 }
@@ -94,14 +78,45 @@ public class GameServerEndpoint {
     }
     
 
+    private void seat(Session session, Account account) {
+        GameRoom room = roomOf(session);
+        Account accountToStore = null;
+        while (room != null && (accountToStore = room.join(session, account)) == null && room.isClosed()) {
+            // The room closed before this player sat down, so take a seat in its replacement
+            room = RoomRegistry.join(room.getId());
+            session.getUserProperties().put(ROOM_PROPERTY, room);
+        }
+        if (accountToStore == null) {
+            reject(session, "This table is full or its game has already started");
+            return;
+        }
+
+        System.out.println("Account received: " + accountToStore.getUsername() + " in room " + room.getId());
+
+        // Broadcast with explicit error handling
+        room.broadcast(accountToStore.getUsername() + " has joined the game.");
+        if (RoomRegistry.isHostingGames()) {
+            RoomRegistry.playerJoined(room);
+        } else {
+            System.out.println("Type \"START\" to start the game");
+        }
+    }
+
     @OnClose
     public void onClose(Session session) {
-        Account removedAccount = SESSIONS.remove(session);
+        OUTBOXES.remove(session);
+        RESYNC_REQUESTS.remove(session);
         System.out.println("WebSocket connection closed: " + session.getId());
-        
+
+        GameRoom room = roomOf(session);
+        if (room == null) {
+            return;
+        }
+        Account removedAccount = room.leave(session);
         if (removedAccount != null) {
-            broadcast(removedAccount.getUsername() + " has left the game.");
+            room.broadcast(removedAccount.getUsername() + " has left the game.");
         }
+        RoomRegistry.playerLeft(room);
     }
 
     @OnError
@@ -110,37 +125,7 @@ public class GameServerEndpoint {
         throwable.printStackTrace();
     }
 
-    // Robust broadcast method with detailed error handling
-    public static void broadcast(String message) {
-        System.out.println("Total active sessions: " + SESSIONS.size());
-
-        for (Map.Entry<Session, Account> entry : SESSIONS.entrySet()) {
-            Session session = entry.getKey();
-            Account account = entry.getValue();
-
-            try {
-                if (session != null && session.isOpen()) {
-                    // Use sendText with a try-catch for each individual session
-                    try {
-                        session.getBasicRemote().sendText(message);
-                        System.out.println("Broadcast sent to: " + 
-                            (account != null ? account.getUsername() : "Unknown Account"));
-                    } catch (IOException e) {
-                        System.err.println("Failed to send broadcast to session: " + session.getId());
-                        e.printStackTrace();
-                    }
-                } else {
-                    System.err.println("Session is null or closed: " + 
-                        (session != null ? session.getId() : "null session"));
-                }
-            } catch (Exception e) {
-                System.err.println("Unexpected error in broadcast loop");
-                e.printStackTrace();
-            }
-        }
-    }
-
-    // Method to send message to a specific session
+    // Method to queue a message for a specific session
     public void sendToCurrentPlayer(Object message, Session session) {
         if (session == null) {
             System.err.println("Attempt to send message to null session");
@@ -148,10 +133,15 @@ public class GameServerEndpoint {
         }
 
         try {
-            if (session.isOpen()) {
+            SessionOutbox outbox = getOutboundQueue(session);
+            if (session.isOpen() && outbox != null) {
+                boolean queued;
                 if (message instanceof String) {
                     // Send text message
-                    session.getBasicRemote().sendText((String) message);
+                    queued = outbox.offer((String) message);
+                } else if (message instanceof ByteBuffer) {
+                    // Send an encoded frame as it is
+                    queued = outbox.offer(((ByteBuffer) message).duplicate());
                 } else {
                     // Send serialized object
                     ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -160,8 +150,12 @@ public class GameServerEndpoint {
                     oos.flush();
 
                     byte[] bytes = baos.toByteArray();
-                    session.getBasicRemote().sendBinary(ByteBuffer.wrap(bytes));
-                    System.out.println("Sent object message to session: " + session.getId());
+                    queued = outbox.offer(ByteBuffer.wrap(bytes));
+                    System.out.println("Queued object message for session: " + session.getId());
+                }
+                if (!queued) {
+                    System.err.println("Message dropped for lagging session: " + session.getId());
+                    requestResync(session);
                 }
             } else {
                 System.err.println("Cannot send message. Session is closed: " + session.getId());
@@ -172,12 +166,56 @@ public class GameServerEndpoint {
         }
     }
 
-    public static Map<Session, Account> getSessionPlayers() {
-        return SESSIONS;
+    // The room a session connected to, or null if it was turned away
+    private static GameRoom roomOf(Session session) {
+        return (GameRoom) session.getUserProperties().get(ROOM_PROPERTY);
     }
 
-    public static int getNumPlayers() {
-        return SESSIONS.size();
+    private static void reject(Session session, String reason) {
+        System.out.println("Turning away session " + session.getId() + ": " + reason);
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, reason));
+        } catch (IOException e) {
+            System.err.println("Error closing session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+
+    // Marks a session as needing a keyframe, because it asked or one of its messages was lost
+    static void requestResync(Session session) {
+        RESYNC_REQUESTS.add(session);
+        GameRoom room = roomOf(session);
+        if (room != null) {
+            room.resyncRequested();
+        }
+    }
+
+    /**
+     * Consumes a session's pending request for a keyframe.
+     *
+     * @return whether the session needs a keyframe
+     */
+    public static boolean takeResyncRequest(Session session) {
+        return RESYNC_REQUESTS.remove(session);
+    }
+
+    /**
+     * @return the outbound queue of a connected session, or null once it has closed, in which
+     *         case there is nobody to send to. Only {@link #onOpen} creates queues, so a send
+     *         racing a disconnect can't bring one back.
+     */
+    public static SessionOutbox getOutboundQueue(Session session) {
+        return OUTBOXES.get(session);
+    }
+
+    /**
+     * @return the most messages any session has waiting to be sent
+     */
+    public static int getMaxQueueDepth() {
+        int max = 0;
+        for (SessionOutbox outbox : OUTBOXES.values()) {
+            max = Math.max(max, outbox.getDepth());
+        }
+        return max;
     }
 }
 
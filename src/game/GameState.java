@@ -10,13 +10,17 @@ import java.util.*;
 public class GameState {
     private Deck deck;
     private boolean gameIsOver;
-    private ArrayList<Card> parade;
+    private Parade parade;
     private List<Player> players;
 
     public GameState(List<Player> players) {
-        this.deck = new Deck();
+        this(players, new Deck());
+    }
+
+    public GameState(List<Player> players, Deck deck) {
+        this.deck = deck;
         this.gameIsOver = false;
-        this.parade = new ArrayList<>();
+        this.parade = new Parade();
         this.players = new ArrayList<>(players);
     }
 
@@ -32,7 +36,7 @@ public class GameState {
         this.gameIsOver = gameIsOver;
     }
 
-    public ArrayList<Card> getParade() {
+    public Parade getParade() {
         return parade;
     }
 
@@ -40,6 +44,13 @@ public class GameState {
         return players;
     }
 
+    /**
+     * Copies this position into a compact, undoable {@link SearchState} for computer players.
+     */
+    public SearchState toSearchState(int currentPlayer, SearchState.Phase phase, int discardsLeft) {
+        return SearchState.fromGameState(this, currentPlayer, phase, discardsLeft);
+    }
+
     public void initializeParade(int initialLength) {
         for (int i = 0; i < initialLength; i++) {
             parade.add(deck.drawCard());
@@ -0,0 +1,86 @@
+package game;
+
+import cards.*;
+import constants.GameplayConstants;
+import players.*;
+
+import java.util.*;
+
+/**
+ * Plays a complete game without any user interface, input or pacing.
+ * Follows the same turn order as {@link Game#startGame()} and {@link EndGameHandler}:
+ * regular turns until the game ends, one final turn for every player except the last,
+ * then two discards per player before the remaining hand joins the river.
+ * Intended for simulations between computer players.
+ */
+public class HeadlessGame {
+    private GameState gameState;
+
+    /**
+     * @param players The players taking part, in turn order. Their hands should be empty;
+     *                they are dealt from this game's deck.
+     */
+    public HeadlessGame(List<Player> players) {
+        this(players, new Deck());
+    }
+
+    /**
+     * @param players The players taking part, in turn order, with empty hands
+     * @param deck    The deck to deal and draw from; a seeded deck makes the game reproducible
+     */
+    public HeadlessGame(List<Player> players, Deck deck) {
+        this.gameState = new GameState(players, deck);
+        for (Player p : players) {
+            p.observeGame(gameState);
+        }
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Runs the game to completion.
+     *
+     * @return A map of scores to players, sorted by score in ascending order
+     */
+    public TreeMap<Integer, ArrayList<Player>> play() {
+        List<Player> players = gameState.getPlayers();
+        Deck deck = gameState.getDeck();
+
+        for (Player p : players) {
+            for (int i = 0; i < GameplayConstants.INITIAL_HAND_SIZE; i++) {
+                p.drawCard(deck.drawCard());
+            }
+        }
+        gameState.initializeParade(GameplayConstants.INITIAL_PARADE_LENGTH);
+
+        int currentPlayerIndex = 0;
+        while (!gameState.isGameOver()) {
+            Player currentPlayer = players.get(currentPlayerIndex);
+            Card choice = currentPlayer.chooseCardToPlay();
+            if (ParadeEngine.applyPlay(gameState, currentPlayer, choice).isGameOver()) {
+                gameState.setGameOver(true);
+            }
+            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        }
+
+        // Final turns
+        deck.clearDeck();
+        for (int i = 0; i < players.size() - 1; i++) {
+            Player p = players.get(i);
+            ParadeEngine.applyPlay(gameState, p, p.chooseCardToPlay());
+        }
+
+        // Discard phase
+        for (Player p : players) {
+            for (int i = 0; i < GameplayConstants.FINAL_DISCARD_COUNT; i++) {
+                p.chooseCardToDiscard();
+            }
+            p.getRiver().addAll(p.getHand());
+            p.getHand().clear();
+        }
+
+        return new ScoreCalculator(players).getScoreMap();
+    }
+}
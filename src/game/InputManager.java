@@ -1,24 +1,27 @@
 package game;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * The console's input. Rooms on a server read their players' input from their own
+ * {@link InputQueue} instead.
+ */
 public class InputManager {
-    private static final BlockingQueue<String> INPUT_QUEUE = new LinkedBlockingQueue<>();
-    
+    private static final InputQueue CONSOLE = new InputQueue();
+
+    public static InputQueue getConsoleQueue() {
+        return CONSOLE;
+    }
+
     public static void offerInput(String input) {
-        // Accept empty strings (ENTER key presses) for turn advancement
-        INPUT_QUEUE.offer(input == null ? "" : input);
+        CONSOLE.offerInput(input);
     }
     
     public static String waitForInput() throws InterruptedException {
-        // Wait indefinitely for input
-        return INPUT_QUEUE.take();
+        return CONSOLE.waitForInput();
     }
     
     public static String waitForInputWithTimeout(long timeout, TimeUnit unit) throws InterruptedException {
-        // Wait with timeout and return null if nothing arrives
-        return INPUT_QUEUE.poll(timeout, unit);
+        return CONSOLE.waitForInputWithTimeout(timeout, unit);
     }
     
     /**
@@ -26,12 +29,10 @@ public class InputManager {
      * This is specifically for turn advancement.
      */
     public static void waitForEnterPress() throws InterruptedException {
-        // Just wait for any input and discard it - we just care about notification
-        INPUT_QUEUE.take();
+        CONSOLE.waitForEnterPress();
     }
     
     public static void clearInput() {
-        INPUT_QUEUE.clear();
+        CONSOLE.clearInput();
     }
 }
-
@@ -0,0 +1,104 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lines of input waiting to be read by a game. The console has one (see {@link InputManager}),
+ * and so does every room on a server, so players at one table never answer another's prompts.
+ *
+ * The queue is also the game thread's mailbox: other threads {@link #post} tasks to it, and the
+ * game thread runs them whenever it waits, for input or for a bot's move to be revealed. Tasks
+ * therefore never run in the middle of a turn and need no locking against the game.
+ */
+public class InputQueue {
+    // Input lines are Strings and posted tasks are Runnables, in the order they arrived
+    private final BlockingDeque<Object> queue = new LinkedBlockingDeque<>();
+
+    public void offerInput(String input) {
+        // Accept empty strings (ENTER key presses) for turn advancement
+        queue.offer(input == null ? "" : input);
+    }
+
+    /**
+     * Queues work for the thread reading this queue, to run the next time it waits.
+     */
+    public void post(Runnable task) {
+        queue.offer(task);
+    }
+
+    public String waitForInput() throws InterruptedException {
+        // Wait indefinitely for input, running any tasks that arrive first
+        while (true) {
+            Object item = queue.take();
+            if (item instanceof String) {
+                return (String) item;
+            }
+            ((Runnable) item).run();
+        }
+    }
+
+    public String waitForInputWithTimeout(long timeout, TimeUnit unit) throws InterruptedException {
+        // Wait with timeout and return null if nothing arrives
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            Object item = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (item == null || item instanceof String) {
+                return (String) item;
+            }
+            ((Runnable) item).run();
+        }
+    }
+
+    /**
+     * Wait for the ENTER key press only (empty input)
+     * This is specifically for turn advancement.
+     */
+    public void waitForEnterPress() throws InterruptedException {
+        // Just wait for any input and discard it - we just care about notification
+        waitForInput();
+    }
+
+    /**
+     * Runs posted tasks until the future completes. Input that arrives meanwhile stays queued, in
+     * order, for the next read.
+     *
+     * @return the future's value
+     */
+    public <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        if (!future.isDone()) {
+            Runnable wake = () -> { };
+            future.whenComplete((value, error) -> queue.offer(wake));
+            List<String> lines = new ArrayList<>();
+            try {
+                Object item;
+                while ((item = queue.take()) != wake) {
+                    if (item instanceof String) {
+                        lines.add((String) item);
+                    } else {
+                        ((Runnable) item).run();
+                    }
+                }
+            } finally {
+                for (int i = lines.size() - 1; i >= 0; i--) {
+                    queue.offerFirst(lines.get(i));
+                }
+            }
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Drops pending input; posted tasks still run
+    public void clearInput() {
+        queue.removeIf(item -> item instanceof String);
+    }
+}
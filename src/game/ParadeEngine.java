@@ -0,0 +1,75 @@
+package game;
+
+import cards.*;
+import players.Player;
+
+import java.util.*;
+
+/**
+ * Headless implementation of the Parade rules.
+ * None of these methods print, sleep or wait for input, so they can be used both by the
+ * interactive {@link TurnManager} and by simulations that play many games back to back.
+ */
+public class ParadeEngine {
+
+    private ParadeEngine() {
+    }
+
+    /**
+     * Applies a play to the game state: the card joins the front of the parade, the cards it
+     * captures move into the player's river, and the player draws a replacement card.
+     * Every player is then told about the play through {@link Player#observePlay}.
+     *
+     * @param gameState     The current game state
+     * @param currentPlayer The player making the play
+     * @param choice        The card being played (already removed from the player's hand)
+     * @return the cards taken, the card drawn and whether the game should end
+     */
+    public static PlayResult applyPlay(GameState gameState, Player currentPlayer, Card choice) {
+        boolean gameIsOver = false;
+
+        // Process the parade for cards to be removed and added to the player's river
+        List<Card> takenCards = resolveParade(gameState.getParade(), choice);
+        CardSet currRiver = currentPlayer.getRiver();
+        currRiver.addAll(takenCards);
+
+        // Check for game over conditions
+        // 1. River has all 6 colors
+        if (currRiver.hasAllColors()) {
+            gameIsOver = true;
+        }
+
+        // 2. Draw a card if possible. If the deck is empty, then end the game.
+        Card toDraw = gameState.getDeck().drawCard();
+        if (toDraw == null) {
+            gameIsOver = true;
+        } else {
+            currentPlayer.drawCard(toDraw);
+        }
+
+        PlayResult result = new PlayResult(choice, takenCards, toDraw, gameIsOver);
+        for (Player p : gameState.getPlayers()) {
+            p.observePlay(currentPlayer, result);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the played card to the front of the parade and removes every card it captures.
+     * The first {@code choice.getValue()} cards (counting the played card) are safe; any card
+     * after that with the same color or a value lower than or equal to the played card is taken.
+     *
+     * @param parade The parade, front first
+     * @param choice The card being played
+     * @return the captured cards, in parade order
+     */
+    public static List<Card> resolveParade(Parade parade, Card choice) {
+        List<Card> takenCards = new ArrayList<Card>();
+
+        // Add the current card to the parade, then remove the matching cards in one pass
+        parade.pushFront(choice);
+        parade.removeCaptured(takenCards);
+
+        return takenCards;
+    }
+}
@@ -0,0 +1,43 @@
+package game;
+
+import cards.Card;
+
+import java.util.List;
+
+/**
+ * Outcome of a single play resolved by the {@link ParadeEngine}.
+ * Holds the cards taken from the parade, the card drawn afterwards (if any)
+ * and whether the play triggered the end of the game.
+ */
+public class PlayResult {
+    private final Card playedCard;
+    private final List<Card> takenCards;
+    private final Card drawnCard;
+    private final boolean gameIsOver;
+
+    public PlayResult(Card playedCard, List<Card> takenCards, Card drawnCard, boolean gameIsOver) {
+        this.playedCard = playedCard;
+        this.takenCards = takenCards;
+        this.drawnCard = drawnCard;
+        this.gameIsOver = gameIsOver;
+    }
+
+    public Card getPlayedCard() {
+        return playedCard;
+    }
+
+    public List<Card> getTakenCards() {
+        return takenCards;
+    }
+
+    /**
+     * @return the card drawn after the play, or null if the deck was empty
+     */
+    public Card getDrawnCard() {
+        return drawnCard;
+    }
+
+    public boolean isGameOver() {
+        return gameIsOver;
+    }
+}
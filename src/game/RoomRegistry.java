@@ -0,0 +1,205 @@
+package game;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Every room on this server, by id.
+ *
+ * A room is created when the first client connects to its path, and removed when it closes.
+ * On a dedicated server (see {@link #hostGames}) a room's game starts by itself once enough
+ * players have joined. Each game runs on its own thread and spends nearly all of its time
+ * waiting for players, so the threads are virtual where the JVM has them (Java 21 and later):
+ * hundreds of tables then cost a few kilobytes each rather than a platform thread each.
+ */
+public class RoomRegistry {
+    public static final int MAX_ROOMS = 1000;
+    // How long a finished game waits for its last messages to go out before disconnecting everyone
+    private static final long DRAIN_TIMEOUT_MILLIS = 5_000;
+    private static final Pattern ROOM_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private static final Map<String, GameRoom> ROOMS = new ConcurrentHashMap<>();
+    // Entries in ROOMS; a new room reserves its slot here first, so racing joins can't pass the cap
+    private static final AtomicInteger ROOM_COUNT = new AtomicInteger();
+    private static final ThreadFactory GAME_THREADS = gameThreadFactory();
+    private static final AtomicInteger RUNNING_GAMES = new AtomicInteger();
+
+    // Set on a dedicated server; otherwise games are started from the host's console
+    private static volatile Consumer<GameRoom> roomGame;
+    private static volatile int playersToStart;
+
+    private RoomRegistry() {
+    }
+
+    /**
+     * Starts every room's game by itself once the given number of players have joined.
+     *
+     * @param game Plays a room's game; it runs on the room's own thread
+     */
+    public static void hostGames(int playersToStart, Consumer<GameRoom> game) {
+        RoomRegistry.playersToStart = playersToStart;
+        RoomRegistry.roomGame = game;
+    }
+
+    /**
+     * @return whether rooms start their games by themselves
+     */
+    public static boolean isHostingGames() {
+        return roomGame != null;
+    }
+
+    /**
+     * Opens a room for a game run from the host's console. It stays open while it is empty.
+     */
+    public static GameRoom openHostRoom(String id) {
+        return ROOMS.compute(id, (key, room) -> {
+            if (room != null && !room.isClosed()) {
+                return room;
+            }
+            if (room == null) {
+                // The host's own table is never turned away
+                ROOM_COUNT.incrementAndGet();
+            }
+            return new GameRoom(key, true);
+        });
+    }
+
+    /**
+     * @return the open room with the given id, created if needed, or null if the id isn't valid
+     *         or the server already has {@link #MAX_ROOMS} rooms
+     */
+    static GameRoom join(String id) {
+        if (id == null || !ROOM_ID.matcher(id).matches()) {
+            return null;
+        }
+        GameRoom room = ROOMS.get(id);
+        if (room != null && !room.isClosed()) {
+            return room;
+        }
+        return ROOMS.compute(id, (key, existing) -> {
+            if (existing != null && !existing.isClosed()) {
+                return existing;
+            }
+            // A closed room still holds its slot, so only a brand new entry needs one
+            if (existing == null && !reserveSlot()) {
+                return null;
+            }
+            return new GameRoom(key, false);
+        });
+    }
+
+    // Takes one of the MAX_ROOMS slots, or returns false if they are all in use
+    private static boolean reserveSlot() {
+        while (true) {
+            int count = ROOM_COUNT.get();
+            if (count >= MAX_ROOMS) {
+                return false;
+            }
+            if (ROOM_COUNT.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static void remove(GameRoom room) {
+        if (ROOMS.remove(room.getId(), room)) {
+            ROOM_COUNT.decrementAndGet();
+        }
+    }
+
+    /**
+     * Starts the room's game if the server hosts games and the room has enough players.
+     */
+    static void playerJoined(GameRoom room) {
+        Consumer<GameRoom> game = roomGame;
+        if (game == null || room.getNumPlayers() < playersToStart || !room.start()) {
+            return;
+        }
+        RUNNING_GAMES.incrementAndGet();
+        GAME_THREADS.newThread(() -> {
+            try {
+                game.accept(room);
+            } catch (RuntimeException e) {
+                System.err.println("Game in room " + room.getId() + " failed: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                RUNNING_GAMES.decrementAndGet();
+                close(room, "Game over");
+            }
+        }).start();
+    }
+
+    /**
+     * Removes the room if its last player has left before its game started.
+     */
+    static void playerLeft(GameRoom room) {
+        if (room.closeIfEmpty()) {
+            remove(room);
+        }
+    }
+
+    /**
+     * Closes a room whose game is over and disconnects its players once their last messages
+     * have been sent.
+     */
+    public static void close(GameRoom room, String reason) {
+        room.close();
+        remove(room);
+
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        try {
+            for (Session session : room.getSessionPlayers().keySet()) {
+                SessionOutbox outbox = GameServerEndpoint.getOutboundQueue(session);
+                while (outbox != null && outbox.getDepth() > 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Session session : room.getSessionPlayers().keySet()) {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, reason));
+            } catch (IOException e) {
+                System.err.println("Error closing session " + session.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static GameRoom get(String id) {
+        return ROOMS.get(id);
+    }
+
+    public static int getRoomCount() {
+        return ROOMS.size();
+    }
+
+    public static int getRunningGameCount() {
+        return RUNNING_GAMES.get();
+    }
+
+    // Virtual threads where the JVM has them; looked up by reflection so older JVMs can still build this
+    private static ThreadFactory gameThreadFactory() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "room-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "room-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
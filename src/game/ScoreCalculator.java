@@ -20,14 +20,14 @@ public class ScoreCalculator {
      */
     public ScoreCalculator(List<Player> players) {
         this.players = players;
-        Map<Player, Set<CardColor>> majorityMap = calculateMajorities();
+        int[] majorityMasks = new int[players.size()];
+        calculateMajorityMasks(players, majorityMasks);
         
         TreeMap<Integer, ArrayList<Player>> scoreMap = new TreeMap<Integer, ArrayList<Player>>();
 
         for (int i = 0; i < players.size(); i++) {
             Player currentPlayer = players.get(i);
-            ArrayList<Card> river = currentPlayer.getRiver();
-            Set<CardColor> majColors = majorityMap.get(currentPlayer);
+            CardSet river = currentPlayer.getRiver();
             
             if (river == null || river.size() == 0) {
                 if (scoreMap.containsKey(0)) {
@@ -43,13 +43,12 @@ public class ScoreCalculator {
             
             int currScore = 0;
 
-            for (Card c : river) {
-                //for every car
-                CardColor currColor = c.getColor();
-                if (majColors.contains(currColor)) {
-                    currScore++;
+            // Majority colors score 1 per card, every other card scores its face value
+            for (CardColor currColor : CardColor.values()) {
+                if ((majorityMasks[i] & (1 << currColor.ordinal())) != 0) {
+                    currScore += river.countColor(currColor);
                 } else {
-                    currScore += c.getValue();
+                    currScore += river.getColorValueSum(currColor);
                 }
             }
 
@@ -82,53 +81,54 @@ public class ScoreCalculator {
      */
     
     public Map<Player, Set<CardColor>> calculateMajorities() {
+        int[] majorityMasks = new int[players.size()];
+        calculateMajorityMasks(players, majorityMasks);
+
         // Initialize the map to hold majority colors for each player.
         Map<Player, Set<CardColor>> majorityMap = new HashMap<>();
-        for (Player p : players) {
-            majorityMap.put(p, new HashSet<>());
-        }
-    
-        // Loop over each color
-        for (CardColor card_color : CardColor.values()) {
-            int maxCount = 0;
-            List<Player> leaders = new ArrayList<>();
-    
-            // Determine the highest count of this color
-            for (Player player : players) {
-                int count = countColor(player.getRiver(), card_color);
-                if (count > maxCount) {
-                    maxCount = count;
-                    leaders.clear();
-                    leaders.add(player);
-                } else if (count == maxCount && maxCount > 0) {
-                    leaders.add(player);
+        for (int i = 0; i < players.size(); i++) {
+            Set<CardColor> colors = new HashSet<>();
+            for (CardColor card_color : CardColor.values()) {
+                if ((majorityMasks[i] & (1 << card_color.ordinal())) != 0) {
+                    colors.add(card_color);
                 }
             }
-    
-            // Assign majority for this color to all leaders
-            for (Player leader : leaders) {
-                majorityMap.get(leader).add(card_color);
-            }
+            majorityMap.put(players.get(i), colors);
         }
     
         return majorityMap;
     }
-    
 
     /**
-     * Helper method to count the number of cards of a specific color in a list.
+     * Allocation-free version of {@link #calculateMajorities()} working from each river's
+     * incrementally maintained color counts.
      *
-     * @param cards the list of cards (usually the player's river/score pile)
-     * @param color the color to count
-     * @return the count of cards matching the color
+     * @param players        The players, in the same order as the output array
+     * @param majorityMasks  Output: for each player, a mask with bit {@code color.ordinal()} set
+     *                       for every color in which they hold the majority
      */
-    private int countColor(ArrayList<Card> cards, CardColor card_color) {
-        int count = 0;
-        for (Card c : cards) {
-            if (c.getColor() == card_color) {
-                count++;
+    public static void calculateMajorityMasks(List<Player> players, int[] majorityMasks) {
+        for (int i = 0; i < players.size(); i++) {
+            majorityMasks[i] = 0;
+        }
+
+        // Loop over each color
+        for (CardColor card_color : CardColor.values()) {
+            // Determine the highest count of this color
+            int maxCount = 0;
+            for (Player player : players) {
+                maxCount = Math.max(maxCount, player.getRiver().countColor(card_color));
+            }
+            if (maxCount == 0) {
+                continue;
+            }
+
+            // Assign majority for this color to all leaders
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).getRiver().countColor(card_color) == maxCount) {
+                    majorityMasks[i] |= 1 << card_color.ordinal();
+                }
             }
         }
-        return count;
     }
 }
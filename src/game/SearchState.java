@@ -0,0 +1,630 @@
+package game;
+
+import cards.*;
+import constants.GameplayConstants;
+import players.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A compact, undoable copy of a game position for search-based computer players.
+ *
+ * Everything is stored in primitive arrays: hands and the deck as card ids, rivers as per-color
+ * card counts and value totals, and the parade as an id stack (back first). {@link #makeMove(int)}
+ * applies a move and pushes what it changed onto a move stack so {@link #unmakeMove()} can roll it
+ * back exactly, without any allocation. The turn structure mirrors {@link Game} and
+ * {@link EndGameHandler}: regular turns, one final turn for every player except the last, then two
+ * discards per player.
+ *
+ * The state is built from the real game, so the deck order and other players' hands are the true
+ * ones; searches that must not see hidden information should redistribute them first.
+ *
+ * A {@link Zobrist} hash of the position is kept up to date by every move. The parade part is
+ * keyed by position counted from the back, so pushing a card is one XOR and the take pass only
+ * rekeys the cards it moves; rivers and hands use additive keys.
+ */
+public class SearchState {
+
+    public enum Phase { PLAY, FINAL, DISCARD, DONE }
+
+    private static final Phase[] PHASES = Phase.values();
+    public static final int NUM_COLORS = CardColor.values().length;
+    private static final int HAND_CAPACITY = GameplayConstants.MAX_HAND_SIZE;
+    private static final int ALL_COLORS_MASK = (1 << NUM_COLORS) - 1;
+
+    // Color ordinal and value of every card id
+    private static final int[] COLOR_OF = new int[Card.NUM_CARDS];
+    private static final int[] VALUE_OF = new int[Card.NUM_CARDS];
+
+    static {
+        for (int id = 0; id < Card.NUM_CARDS; id++) {
+            COLOR_OF[id] = Card.of(id).getColor().ordinal();
+            VALUE_OF[id] = Card.of(id).getValue();
+        }
+    }
+
+    private final int numPlayers;
+
+    // Hands: HAND_CAPACITY slots per player
+    private final byte[] hands;
+    private final int[] handSizes;
+
+    // Rivers: NUM_COLORS entries per player
+    private final int[] riverCounts;
+    private final int[] riverValueSums;
+    private final int[] riverColorMasks;
+
+    // Parade, back first: the front of the parade is paradeIds[paradeSize - 1]
+    private final byte[] paradeIds;
+    private int paradeSize;
+
+    // Deck in draw order
+    private final byte[] deckIds;
+    private final int deckSize;
+    private int deckCursor;
+
+    // Cards in no hand, river, parade or undrawn deck: discards and the deck cleared at game end
+    private final byte[] outOfPlayIds;
+    private int outOfPlayCount;
+
+    private int currentPlayer;
+    private Phase phase;
+    private int discardsLeft;
+
+    // Zobrist hash components; see getHash()
+    private long paradeHash;
+    private long riverHash;
+    private long handHash;
+
+    // Move stack, one entry per move made
+    private int depth;
+    private int[] movePlayer;
+    private int[] moveSlot;
+    private int[] moveCard;
+    private int[] moveDrawnCard;
+    private int[] movePhase;
+    private int[] moveDiscardsLeft;
+    private int[] moveTakenStart;
+    private long[] moveParadeHash;
+    private long[] moveRiverHash;
+    private long[] moveHandHash;
+
+    // Cards taken by each move with their index in the parade array before the take
+    private int[] takenIds;
+    private int[] takenPositions;
+    private int takenTop;
+
+    // Scratch space for scoring and for redistributing hidden cards
+    private final int[] scoreCounts;
+    private final int[] scoreValueSums;
+    private final byte[] scratchPool;
+
+    private SearchState(int numPlayers, int deckSize) {
+        this.numPlayers = numPlayers;
+        this.hands = new byte[numPlayers * HAND_CAPACITY];
+        this.handSizes = new int[numPlayers];
+        this.riverCounts = new int[numPlayers * NUM_COLORS];
+        this.riverValueSums = new int[numPlayers * NUM_COLORS];
+        this.riverColorMasks = new int[numPlayers];
+        this.paradeIds = new byte[deckSize + numPlayers * HAND_CAPACITY + 1];
+        this.deckIds = new byte[deckSize];
+        this.outOfPlayIds = new byte[deckSize];
+        this.deckSize = deckSize;
+        this.scoreCounts = new int[numPlayers * NUM_COLORS];
+        this.scoreValueSums = new int[numPlayers * NUM_COLORS];
+        this.scratchPool = new byte[2 * deckSize + numPlayers * HAND_CAPACITY];
+
+        int initialDepth = deckSize + 4 * numPlayers;
+        this.movePlayer = new int[initialDepth];
+        this.moveSlot = new int[initialDepth];
+        this.moveCard = new int[initialDepth];
+        this.moveDrawnCard = new int[initialDepth];
+        this.movePhase = new int[initialDepth];
+        this.moveDiscardsLeft = new int[initialDepth];
+        this.moveTakenStart = new int[initialDepth];
+        this.moveParadeHash = new long[initialDepth];
+        this.moveRiverHash = new long[initialDepth];
+        this.moveHandHash = new long[initialDepth];
+        this.takenIds = new int[paradeIds.length];
+        this.takenPositions = new int[paradeIds.length];
+    }
+
+    /**
+     * Copies a position from the real game.
+     *
+     * @param gameState     The game to copy
+     * @param currentPlayer Index of the player to move
+     * @param phase         The stage of the game being played
+     * @param discardsLeft  Discards the current player still has to make (only used in the discard phase)
+     * @return the compact copy
+     */
+    public static SearchState fromGameState(GameState gameState, int currentPlayer, Phase phase, int discardsLeft) {
+        List<Player> players = gameState.getPlayers();
+        Deck deck = gameState.getDeck();
+        SearchState state = new SearchState(players.size(), Card.NUM_CARDS * deck.getDeckCount());
+
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            for (Card c : player.getHand()) {
+                state.hands[p * HAND_CAPACITY + state.handSizes[p]++] = (byte) c.getId();
+            }
+            for (Card c : player.getRiver()) {
+                state.addToRiver(p, c.getId());
+            }
+        }
+
+        Parade parade = gameState.getParade();
+        for (int i = parade.size() - 1; i >= 0; i--) {
+            state.paradeIds[state.paradeSize++] = (byte) parade.getId(i);
+        }
+
+        // Only the undrawn part of the deck is copied, at the end of the array
+        int remaining = deck.size();
+        state.deckCursor = state.deckSize - remaining;
+        for (int i = 0; i < remaining; i++) {
+            state.deckIds[state.deckCursor + i] = (byte) deck.peekId(i);
+        }
+
+        // Every card has one copy per deck; whatever isn't found in play is out of play
+        int[] copiesLeft = new int[Card.NUM_CARDS];
+        Arrays.fill(copiesLeft, deck.getDeckCount());
+        for (Player player : players) {
+            for (Card c : player.getHand()) {
+                copiesLeft[c.getId()]--;
+            }
+            for (Card c : player.getRiver()) {
+                copiesLeft[c.getId()]--;
+            }
+        }
+        for (int i = 0; i < parade.size(); i++) {
+            copiesLeft[parade.getId(i)]--;
+        }
+        for (int i = 0; i < remaining; i++) {
+            copiesLeft[deck.peekId(i)]--;
+        }
+        for (int id = 0; id < Card.NUM_CARDS; id++) {
+            for (int copy = 0; copy < copiesLeft[id]; copy++) {
+                state.outOfPlayIds[state.outOfPlayCount++] = (byte) id;
+            }
+        }
+
+        state.currentPlayer = currentPlayer;
+        state.phase = phase;
+        state.discardsLeft = phase == Phase.DISCARD ? discardsLeft : GameplayConstants.FINAL_DISCARD_COUNT;
+        state.recomputeHash();
+        return state;
+    }
+
+    /**
+     * Rebuilds the hash components from scratch.
+     */
+    private void recomputeHash() {
+        paradeHash = 0;
+        for (int i = 0; i < paradeSize; i++) {
+            paradeHash ^= Zobrist.paradeKey(i, paradeIds[i]);
+        }
+        handHash = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            for (int i = 0; i < handSizes[p]; i++) {
+                handHash += Zobrist.handKey(p, hands[p * HAND_CAPACITY + i]);
+            }
+        }
+        // Rivers only keep counts; their hash is accumulated by addToRiver as cards are added
+    }
+
+    /**
+     * @return an independent copy of the current position with an empty move stack
+     */
+    public SearchState copy() {
+        SearchState copy = new SearchState(numPlayers, deckSize);
+        copy.copyPositionFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites this state's position with another state's (which must have the same number of
+     * players and deck size) and clears the move stack. Used to reset a scratch state without
+     * allocating.
+     */
+    public void copyPositionFrom(SearchState other) {
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, numPlayers);
+        System.arraycopy(other.riverCounts, 0, riverCounts, 0, riverCounts.length);
+        System.arraycopy(other.riverValueSums, 0, riverValueSums, 0, riverValueSums.length);
+        System.arraycopy(other.riverColorMasks, 0, riverColorMasks, 0, numPlayers);
+        System.arraycopy(other.paradeIds, 0, paradeIds, 0, other.paradeSize);
+        paradeSize = other.paradeSize;
+        System.arraycopy(other.deckIds, 0, deckIds, 0, deckSize);
+        deckCursor = other.deckCursor;
+        System.arraycopy(other.outOfPlayIds, 0, outOfPlayIds, 0, other.outOfPlayCount);
+        outOfPlayCount = other.outOfPlayCount;
+        currentPlayer = other.currentPlayer;
+        phase = other.phase;
+        discardsLeft = other.discardsLeft;
+        paradeHash = other.paradeHash;
+        riverHash = other.riverHash;
+        handHash = other.handHash;
+        depth = 0;
+        takenTop = 0;
+    }
+
+    /**
+     * Replaces the cards the viewer cannot see with a random guess consistent with what they can:
+     * the other players' hands, the undrawn deck and the cards out of play are pooled, shuffled
+     * and dealt back out in the same sizes. The viewer's own hand, the parade and the rivers are
+     * untouched. Discarded cards are pooled too, which only makes the guess a little vaguer.
+     *
+     * @param viewer Index of the player whose knowledge the guess must respect
+     * @param random Source of the shuffle
+     * @throws IllegalStateException if any moves are on the move stack
+     */
+    public void redistributeHiddenCards(int viewer, SplittableRandom random) {
+        if (depth != 0) {
+            throw new IllegalStateException("Cannot redistribute cards with moves to undo");
+        }
+
+        // The pool is the other hands followed by the undrawn deck and the cards out of play
+        int poolSize = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != viewer) {
+                System.arraycopy(hands, p * HAND_CAPACITY, scratchPool, poolSize, handSizes[p]);
+                poolSize += handSizes[p];
+            }
+        }
+        int deckRemaining = deckSize - deckCursor;
+        System.arraycopy(deckIds, deckCursor, scratchPool, poolSize, deckRemaining);
+        poolSize += deckRemaining;
+        System.arraycopy(outOfPlayIds, 0, scratchPool, poolSize, outOfPlayCount);
+        poolSize += outOfPlayCount;
+
+        for (int i = poolSize - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte tmp = scratchPool[i];
+            scratchPool[i] = scratchPool[j];
+            scratchPool[j] = tmp;
+        }
+
+        int read = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != viewer) {
+                System.arraycopy(scratchPool, read, hands, p * HAND_CAPACITY, handSizes[p]);
+                read += handSizes[p];
+            }
+        }
+        System.arraycopy(scratchPool, read, deckIds, deckCursor, deckRemaining);
+        read += deckRemaining;
+        System.arraycopy(scratchPool, read, outOfPlayIds, 0, outOfPlayCount);
+        recomputeHash();
+    }
+
+    // Moves
+
+    /**
+     * Plays (or, in the discard phase, discards) the card in the given hand slot of the current player.
+     * Hand slots are not stable across moves: the last card of the hand fills the emptied slot.
+     */
+    public void makeMove(int handSlot) {
+        int p = currentPlayer;
+        int base = p * HAND_CAPACITY;
+        if (phase == Phase.DONE || handSlot < 0 || handSlot >= handSizes[p]) {
+            throw new IllegalStateException("Illegal move " + handSlot + " in phase " + phase);
+        }
+        int cardId = hands[base + handSlot];
+
+        ensureMoveCapacity();
+        movePlayer[depth] = p;
+        moveSlot[depth] = handSlot;
+        moveCard[depth] = cardId;
+        moveDrawnCard[depth] = -1;
+        movePhase[depth] = phase.ordinal();
+        moveDiscardsLeft[depth] = discardsLeft;
+        moveTakenStart[depth] = takenTop;
+        moveParadeHash[depth] = paradeHash;
+        moveRiverHash[depth] = riverHash;
+        moveHandHash[depth] = handHash;
+        depth++;
+
+        // Remove the card from the hand
+        int last = --handSizes[p];
+        hands[base + handSlot] = hands[base + last];
+        handHash -= Zobrist.handKey(p, cardId);
+
+        switch (phase) {
+            case PLAY:
+                playToParade(p, cardId);
+                boolean gameIsOver = riverColorMasks[p] == ALL_COLORS_MASK;
+                if (deckCursor < deckSize) {
+                    int drawn = deckIds[deckCursor++];
+                    hands[base + handSizes[p]++] = (byte) drawn;
+                    handHash += Zobrist.handKey(p, drawn);
+                    moveDrawnCard[depth - 1] = drawn;
+                } else {
+                    gameIsOver = true;
+                }
+
+                if (gameIsOver) {
+                    phase = Phase.FINAL;
+                    currentPlayer = 0;
+                } else {
+                    currentPlayer = (p + 1) % numPlayers;
+                }
+                break;
+            case FINAL:
+                playToParade(p, cardId);
+                currentPlayer = p + 1;
+                if (currentPlayer == numPlayers - 1) {
+                    phase = Phase.DISCARD;
+                    currentPlayer = 0;
+                    discardsLeft = GameplayConstants.FINAL_DISCARD_COUNT;
+                }
+                break;
+            case DISCARD:
+                if (--discardsLeft == 0) {
+                    discardsLeft = GameplayConstants.FINAL_DISCARD_COUNT;
+                    currentPlayer = p + 1;
+                    if (currentPlayer == numPlayers) {
+                        phase = Phase.DONE;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected phase: " + phase);
+        }
+    }
+
+    /**
+     * Rolls back the most recent {@link #makeMove(int)}.
+     */
+    public void unmakeMove() {
+        if (depth == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        depth--;
+        int p = movePlayer[depth];
+        int base = p * HAND_CAPACITY;
+        Phase previousPhase = PHASES[movePhase[depth]];
+
+        if (moveDrawnCard[depth] >= 0) {
+            handSizes[p]--;
+            deckCursor--;
+        }
+        if (previousPhase == Phase.PLAY || previousPhase == Phase.FINAL) {
+            undoParade(p, moveTakenStart[depth]);
+        }
+
+        // Put the card back in its slot and the displaced card back at the end
+        int slot = moveSlot[depth];
+        hands[base + handSizes[p]] = hands[base + slot];
+        hands[base + slot] = (byte) moveCard[depth];
+        handSizes[p]++;
+
+        currentPlayer = p;
+        phase = previousPhase;
+        discardsLeft = moveDiscardsLeft[depth];
+        paradeHash = moveParadeHash[depth];
+        riverHash = moveRiverHash[depth];
+        handHash = moveHandHash[depth];
+    }
+
+    /**
+     * Adds the card to the front of the parade and moves every captured card into the player's river,
+     * following the same rule as {@link Parade#removeCaptured}.
+     */
+    private void playToParade(int p, int cardId) {
+        paradeHash ^= Zobrist.paradeKey(paradeSize, cardId);
+        paradeIds[paradeSize++] = (byte) cardId;
+        int value = VALUE_OF[cardId];
+        int color = COLOR_OF[cardId];
+
+        // Array indices below checkEnd are at least `value` positions from the front
+        int checkEnd = Math.max(0, paradeSize - value);
+        int write = 0;
+        for (int read = 0; read < checkEnd; read++) {
+            int id = paradeIds[read];
+            if (COLOR_OF[id] == color || VALUE_OF[id] <= value) {
+                takenIds[takenTop] = id;
+                takenPositions[takenTop++] = read;
+                paradeHash ^= Zobrist.paradeKey(read, id);
+                addToRiver(p, id);
+            } else {
+                if (write != read) {
+                    paradeHash ^= Zobrist.paradeKey(read, id) ^ Zobrist.paradeKey(write, id);
+                    paradeIds[write] = (byte) id;
+                }
+                write++;
+            }
+        }
+
+        // Slide the safe cards at the front down over the gap
+        if (write != checkEnd) {
+            for (int read = checkEnd; read < paradeSize; read++) {
+                int id = paradeIds[read];
+                paradeHash ^= Zobrist.paradeKey(read, id) ^ Zobrist.paradeKey(write, id);
+                paradeIds[write++] = (byte) id;
+            }
+            paradeSize = write;
+        }
+    }
+
+    private void undoParade(int p, int takenStart) {
+        int taken = takenTop - takenStart;
+        if (taken > 0) {
+            // Merge the taken cards back into their original positions, from the front down
+            int newSize = paradeSize + taken;
+            int src = paradeSize - 1;
+            int t = takenTop - 1;
+            for (int dst = newSize - 1; dst >= 0; dst--) {
+                if (t >= takenStart && takenPositions[t] == dst) {
+                    paradeIds[dst] = (byte) takenIds[t];
+                    removeFromRiver(p, takenIds[t]);
+                    t--;
+                } else {
+                    paradeIds[dst] = paradeIds[src--];
+                }
+            }
+            paradeSize = newSize;
+            takenTop = takenStart;
+        }
+        // Remove the played card from the front
+        paradeSize--;
+    }
+
+    private void addToRiver(int p, int id) {
+        int index = p * NUM_COLORS + COLOR_OF[id];
+        riverCounts[index]++;
+        riverValueSums[index] += VALUE_OF[id];
+        riverColorMasks[p] |= 1 << COLOR_OF[id];
+        riverHash += Zobrist.riverKey(p, id);
+    }
+
+    private void removeFromRiver(int p, int id) {
+        int index = p * NUM_COLORS + COLOR_OF[id];
+        riverValueSums[index] -= VALUE_OF[id];
+        if (--riverCounts[index] == 0) {
+            riverColorMasks[p] &= ~(1 << COLOR_OF[id]);
+        }
+        riverHash -= Zobrist.riverKey(p, id);
+    }
+
+    private void ensureMoveCapacity() {
+        if (depth < movePlayer.length) {
+            return;
+        }
+        int capacity = movePlayer.length * 2;
+        movePlayer = Arrays.copyOf(movePlayer, capacity);
+        moveSlot = Arrays.copyOf(moveSlot, capacity);
+        moveCard = Arrays.copyOf(moveCard, capacity);
+        moveDrawnCard = Arrays.copyOf(moveDrawnCard, capacity);
+        movePhase = Arrays.copyOf(movePhase, capacity);
+        moveDiscardsLeft = Arrays.copyOf(moveDiscardsLeft, capacity);
+        moveTakenStart = Arrays.copyOf(moveTakenStart, capacity);
+        moveParadeHash = Arrays.copyOf(moveParadeHash, capacity);
+        moveRiverHash = Arrays.copyOf(moveRiverHash, capacity);
+        moveHandHash = Arrays.copyOf(moveHandHash, capacity);
+    }
+
+    // Scoring
+
+    /**
+     * Scores every player as if the game ended now, with each remaining hand added to its river
+     * (which is exactly the final score once the phase is {@link Phase#DONE}).
+     *
+     * @param scores Output, one entry per player
+     */
+    public void computeScores(int[] scores) {
+        System.arraycopy(riverCounts, 0, scoreCounts, 0, scoreCounts.length);
+        System.arraycopy(riverValueSums, 0, scoreValueSums, 0, scoreValueSums.length);
+        for (int p = 0; p < numPlayers; p++) {
+            for (int i = 0; i < handSizes[p]; i++) {
+                int id = hands[p * HAND_CAPACITY + i];
+                scoreCounts[p * NUM_COLORS + COLOR_OF[id]]++;
+                scoreValueSums[p * NUM_COLORS + COLOR_OF[id]] += VALUE_OF[id];
+            }
+            scores[p] = 0;
+        }
+
+        for (int color = 0; color < NUM_COLORS; color++) {
+            int maxCount = 0;
+            for (int p = 0; p < numPlayers; p++) {
+                maxCount = Math.max(maxCount, scoreCounts[p * NUM_COLORS + color]);
+            }
+            for (int p = 0; p < numPlayers; p++) {
+                int index = p * NUM_COLORS + color;
+                boolean hasMajority = maxCount > 0 && scoreCounts[index] == maxCount;
+                scores[p] += hasMajority ? scoreCounts[index] : scoreValueSums[index];
+            }
+        }
+    }
+
+    // Accessors
+
+    /**
+     * @return the Zobrist hash of the position: parade order, rivers, hands, current player,
+     *         deck cursor and phase
+     */
+    public long getHash() {
+        return paradeHash ^ riverHash ^ handHash
+                ^ Zobrist.playerKey(currentPlayer)
+                ^ Zobrist.deckKey(deckCursor)
+                ^ Zobrist.phaseKey(phase.ordinal(), discardsLeft);
+    }
+
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isTerminal() {
+        return phase == Phase.DONE;
+    }
+
+    public int getDiscardsLeft() {
+        return discardsLeft;
+    }
+
+    /**
+     * @return number of moves made since this state was created or reset
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the card id of the most recent move on the move stack, or -1 if there is none
+     */
+    public int getLastMoveCard() {
+        return depth == 0 ? -1 : moveCard[depth - 1];
+    }
+
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    public int getHandCard(int player, int slot) {
+        return hands[player * HAND_CAPACITY + slot];
+    }
+
+    public int getParadeSize() {
+        return paradeSize;
+    }
+
+    /**
+     * @param position Position from the front of the parade (0 is the most recently played card)
+     */
+    public int getParadeCard(int position) {
+        return paradeIds[paradeSize - 1 - position];
+    }
+
+    public int getRiverCount(int player, int color) {
+        return riverCounts[player * NUM_COLORS + color];
+    }
+
+    public int getRiverValueSum(int player, int color) {
+        return riverValueSums[player * NUM_COLORS + color];
+    }
+
+    public int getRiverColorMask(int player) {
+        return riverColorMasks[player];
+    }
+
+    public int getDeckRemaining() {
+        return deckSize - deckCursor;
+    }
+
+    public static int colorOf(int cardId) {
+        return COLOR_OF[cardId];
+    }
+
+    public static int valueOf(int cardId) {
+        return VALUE_OF[cardId];
+    }
+}
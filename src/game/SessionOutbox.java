@@ -0,0 +1,177 @@
+package game;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Messages waiting to be sent to one client.
+ *
+ * Sending never blocks the caller: a message is handed to the session's asynchronous remote if
+ * nothing is in flight, and otherwise waits in a bounded queue that each completed send drains.
+ * Only one send is in flight per session at a time, so messages arrive in the order they were
+ * queued.
+ *
+ * A client that can't keep up fills its queue. Further messages to it are dropped and counted,
+ * and once {@link #MAX_DROPPED_MESSAGES} have been dropped, or a single send takes longer than
+ * {@link #SEND_TIMEOUT_MILLIS}, the client is disconnected. Closing happens on a separate thread
+ * because a half-dead connection can take a while to close.
+ */
+public class SessionOutbox {
+    public static final int MAX_QUEUED_MESSAGES = 256;
+    public static final int MAX_DROPPED_MESSAGES = 64;
+    public static final long SEND_TIMEOUT_MILLIS = 10_000;
+
+    private static final ExecutorService CLOSER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-close");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Session session;
+    // Guarded by this
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private boolean sending;
+    private boolean closed;
+    private int highWaterMark;
+    private long sentCount;
+    private long droppedCount;
+
+    SessionOutbox(Session session) {
+        this.session = session;
+        session.getAsyncRemote().setSendTimeout(SEND_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Queues a text message.
+     *
+     * @return false if the message was dropped
+     */
+    public boolean offer(String message) {
+        return enqueue(message);
+    }
+
+    /**
+     * Queues a binary message. The buffer must not be changed afterwards.
+     *
+     * @return false if the message was dropped
+     */
+    public boolean offer(ByteBuffer message) {
+        return enqueue(message);
+    }
+
+    private boolean enqueue(Object message) {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (sending) {
+                if (queue.size() >= MAX_QUEUED_MESSAGES) {
+                    droppedCount++;
+                    if (droppedCount >= MAX_DROPPED_MESSAGES) {
+                        disconnect("Too far behind the game");
+                    }
+                    return false;
+                }
+                queue.add(message);
+                highWaterMark = Math.max(highWaterMark, queue.size() + 1);
+                return true;
+            }
+            sending = true;
+            highWaterMark = Math.max(highWaterMark, 1);
+        }
+        send(message);
+        return true;
+    }
+
+    private void send(Object message) {
+        try {
+            RemoteEndpoint.Async remote = session.getAsyncRemote();
+            if (message instanceof String) {
+                remote.sendText((String) message, this::onSent);
+            } else {
+                remote.sendBinary((ByteBuffer) message, this::onSent);
+            }
+        } catch (RuntimeException e) {
+            // The connection went away between queueing and sending
+            fail(e);
+        }
+    }
+
+    private void onSent(SendResult result) {
+        if (!result.isOK()) {
+            fail(result.getException());
+            return;
+        }
+        Object next;
+        synchronized (this) {
+            sentCount++;
+            next = closed ? null : queue.poll();
+            if (next == null) {
+                sending = false;
+                return;
+            }
+        }
+        send(next);
+    }
+
+    private void fail(Throwable cause) {
+        System.err.println("Failed to send to session " + session.getId() + ": "
+                + (cause != null ? cause.getMessage() : "unknown error"));
+        synchronized (this) {
+            disconnect("Send failed");
+        }
+    }
+
+    // Called with the lock held
+    private void disconnect(String reason) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        sending = false;
+        droppedCount += queue.size();
+        queue.clear();
+        System.err.println("Disconnecting session " + session.getId() + ": " + reason);
+        CLOSER.execute(() -> {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, reason));
+            } catch (IOException e) {
+                System.err.println("Error closing session " + session.getId() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return the messages not yet fully sent, the one in flight included
+     */
+    public synchronized int getDepth() {
+        return queue.size() + (sending ? 1 : 0);
+    }
+
+    /**
+     * @return the deepest the queue has been, the message in flight included
+     */
+    public synchronized int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public synchronized long getSentCount() {
+        return sentCount;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
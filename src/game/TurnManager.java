@@ -1,12 +1,15 @@
 package game;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import cards.*;
 import constants.UIConstants;
 import constants.GameplayConstants;
 import players.*;
+import players.computer.MoveHint;
+import players.computer.SpeculationBudget;
 import players.human.HumanPlayer;
 import ui.*;
 import jakarta.websocket.Session;
@@ -14,10 +17,19 @@ import jakarta.websocket.Session;
 public class TurnManager {
     private UserInterface ui;
     private Scanner scanner;
+    // Where remote players' input arrives
+    private InputQueue inputQueue;
+    // This game's background searches for bot replies
+    private final SpeculationBudget speculation = new SpeculationBudget();
 
     public TurnManager(UserInterface ui, Scanner scanner) {
+        this(ui, scanner, InputManager.getConsoleQueue());
+    }
+
+    public TurnManager(UserInterface ui, Scanner scanner, InputQueue input) {
         this.ui = ui;
         this.scanner = scanner;
+        this.inputQueue = input;
     }
 
     /**
@@ -56,8 +68,15 @@ public class TurnManager {
         if (currentPlayer instanceof HumanPlayer) {
             HumanPlayer currentHumanPlayer = (HumanPlayer) currentPlayer;
             playerSession = currentHumanPlayer.getSession();
+            if (action.equals(GameplayConstants.PLAY)) {
+                if (!isFinalTurn) {
+                    speculateNextPlayer(gameState, currentPlayer);
+                }
+                currentHumanPlayer.setHint(MoveHint.start(gameState, currentPlayer));
+            }
             
-            ui.displayMessage("Your turn! Number of cards: " + currentHumanPlayer.getHand().size(), playerSession);
+            ui.promptCardChoice(currentHumanPlayer, action, currentHumanPlayer.getHint() != null,
+                    ui instanceof MultiplayerUI ? TimeUnit.SECONDS.toMillis(GameplayConstants.NUM_SECONDS_TILL_TIMEOUT) : 0);
 
             if (ui instanceof MultiplayerUI) {
                 try {
@@ -68,7 +87,7 @@ public class TurnManager {
                         choice = currentPlayer.playCard(GameplayConstants.DEFAULT_CARD_CHOICE_INDEX);
                     } else {
                         int indexOfCardToPlay = 0;
-                        String playerInput = InputManager.waitForInputWithTimeout(GameplayConstants.NUM_SECONDS_TILL_TIMEOUT, TimeUnit.SECONDS);
+                        String playerInput = waitForCardChoice(currentHumanPlayer, playerSession);
                         if (playerInput == null || playerInput.equals("") || !playerInput.matches("^[0-9]*$")) {
                             // timed out
                             indexOfCardToPlay = GameplayConstants.DEFAULT_CARD_CHOICE_INDEX;
@@ -90,96 +109,81 @@ public class TurnManager {
                     choice = currentPlayer.chooseCardToDiscard();
                 }
             }
-        } else {
-            choice = currentPlayer.chooseCardToPlay();
-        }
-
-        // Display the card played or discarded
-        displayCardPlayedOrDiscarded(currentPlayer, choice, action);
-
-        // Process the play action
-        if (action.equals(GameplayConstants.PLAY)) {
-            int choiceValue = choice.getValue();
-            CardColor choiceColor = choice.getColor();
-
-            // Add the current card to the parade
-            ArrayList<Card> parade = gameState.getParade();
-            parade.add(0, choice);
-
-            // Process the parade for cards to be removed and added to the player's river
-            ArrayList<Card> currRiver = currentPlayer.getRiver();
-            Iterator<Card> iterator = parade.iterator();
-            List<Card> takenCards = new ArrayList<Card>();
-
-            // Skip cards based on the played card's value
-            for (int i = 0; i < choiceValue; i++) {
-                if (iterator.hasNext()) {
-                    iterator.next();
-                }
-            }
-
-            // Check remaining cards for matches
-            while (iterator.hasNext()) {
-                Card checkCard = iterator.next();
-                int checkValue = checkCard.getValue();
-                CardColor checkColor = checkCard.getColor();
-
-                // Take matching cards
-                if (checkColor.equals(choiceColor) || checkValue <= choiceValue) {
-                    currRiver.add(checkCard);
-                    takenCards.add(checkCard);
-                    iterator.remove();
-                }
-            }
 
-            // Display which cards were taken
-            if (!takenCards.isEmpty()) {
-                String message = PlayerDisplayUtils.getDisplayName(currentPlayer) + " takes the following cards from the parade:";
-                String cardVisual = CardPrinter.printCardRow(takenCards, true);
-                
-                ui.broadcastMessage(message);
-                ui.broadcastMessage(cardVisual);
-            } else {
-                String message = PlayerDisplayUtils.getDisplayName(currentPlayer) + " takes no cards from the parade!";
-                ui.broadcastMessage(message);
+            // The turn is decided, so stop working out the hint
+            if (currentHumanPlayer.getHint() != null) {
+                currentHumanPlayer.getHint().cancel();
+                currentHumanPlayer.setHint(null);
             }
-
-            // Sort the river
-            if (!currRiver.isEmpty()) {
-                Collections.sort(currRiver, new CardComparator());
+        } else if (currentPlayer instanceof PacedPlayer) {
+            // The bot's delay runs on a timer; until the move is revealed this thread keeps
+            // serving the room instead of sleeping
+            CompletableFuture<Card> reveal = ((PacedPlayer) currentPlayer).revealCardToPlay();
+            try {
+                choice = inputQueue.await(reveal);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                choice = reveal.join();
             }
+        } else {
+            choice = currentPlayer.chooseCardToPlay();
+        }
 
-            // Check for game over conditions
-            // 1. River has all 6 colors
-            if (!currRiver.isEmpty()) {
-                HashSet<CardColor> checkColor = new HashSet<CardColor>();
-                for (Card c : currRiver) {
-                    checkColor.add(c.getColor());
-                }
+        // The play, what it took and the new board go out as one screen update
+        ui.beginFrame();
+        try {
+            // Process the play action
+            if (action.equals(GameplayConstants.PLAY)) {
+                PlayResult result = ParadeEngine.applyPlay(gameState, currentPlayer, choice);
+                gameIsOver = result.isGameOver();
 
-                if (checkColor.size() == GameplayConstants.NUM_DIFF_COLORS_OF_CARDS) {
-                    gameIsOver = true;
-                }
-            }
+                // Display the card played and which cards were taken
+                ui.displayPlay(gameState, currentPlayer, choice, result.getTakenCards());
 
-            // Draw a card if possible. If the deck is empty, then end the game.
-            Card toDraw = gameState.getDeck().drawCard();
-            if (toDraw == null) {
-                gameIsOver = true;
+                // Display updated game state
+                displayGameState(gameState, currentPlayer);
             } else {
-                currentPlayer.drawCard(toDraw);
+                displayDiscard(gameState, currentPlayer, choice);
             }
-
-            // Display updated game state
-            displayGameState(gameState, currentPlayer);
+        } finally {
+            ui.commitFrame();
         }
-        InputManager.clearInput();
+        inputQueue.clearInput();
 
         // Handle turn advancement
         handleTurnAdvancement(currentPlayer, gameState.getPlayers(), isFinalTurn);
         return gameIsOver;
     }
 
+    /**
+     * Waits for a multiplayer human's card choice, answering any hint requests on the way.
+     *
+     * @return the input, or null if the turn timed out
+     */
+    private String waitForCardChoice(HumanPlayer player, Session session) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(GameplayConstants.NUM_SECONDS_TILL_TIMEOUT);
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            String input = remaining > 0 ? inputQueue.waitForInputWithTimeout(remaining, TimeUnit.NANOSECONDS) : null;
+            if (input == null || player.getHint() == null || !input.trim().equalsIgnoreCase(GameplayConstants.HINT_COMMAND)) {
+                return input;
+            }
+            ui.displayMessage(player.getHint().describe(), session);
+        }
+    }
+
+    /**
+     * Lets the next player, if it is a bot that can, work out its replies while the current
+     * player decides.
+     */
+    private void speculateNextPlayer(GameState gameState, Player currentPlayer) {
+        List<Player> players = gameState.getPlayers();
+        Player nextPlayer = players.get((players.indexOf(currentPlayer) + 1) % players.size());
+        if (nextPlayer != currentPlayer && nextPlayer instanceof SpeculativePlayer) {
+            ((SpeculativePlayer) nextPlayer).speculate(gameState, currentPlayer, speculation);
+        }
+    }
+
     /**
      * Handles the advancement to the next player's turn, with appropriate UI feedback.
      * @param isFinalTurn whether this is part of the final turns phase
@@ -193,10 +197,10 @@ public class TurnManager {
             // Then check if we're in multiplayer AND the session exists and is open
             if (ui instanceof MultiplayerUI && playerSession != null && playerSession.isOpen()) {
                 // Multiplayer human player logic
-                ui.displayMessage("[ENTER] End Turn", playerSession);
+                ui.promptEndTurn(playerSession);
                 
                 try {
-                    InputManager.waitForEnterPress();
+                    inputQueue.waitForEnterPress();
                     int currentPlayerIndex = players.indexOf(currentPlayer);
                     int nextPlayerIndex = (currentPlayerIndex + 1) % players.size();
                     Player nextPlayer = players.get(nextPlayerIndex);
@@ -206,8 +210,8 @@ public class TurnManager {
                 }
             } else if (ui instanceof MultiplayerUI) {
                 try {
-                    ui.broadcastMessage("Any player can hit ENTER to continue...");
-                    InputManager.waitForEnterPress();
+                    ui.promptContinue();
+                    inputQueue.waitForEnterPress();
                     int currentPlayerIndex = players.indexOf(currentPlayer);
                     int nextPlayerIndex = (currentPlayerIndex + 1) % players.size();
                     Player nextPlayer = players.get(nextPlayerIndex);
@@ -227,8 +231,8 @@ public class TurnManager {
         } else {
             if (ui instanceof MultiplayerUI) {
                 try {
-                    ui.broadcastMessage("Any player can hit ENTER to continue...");
-                    InputManager.waitForEnterPress();
+                    ui.promptContinue();
+                    inputQueue.waitForEnterPress();
                     int currentPlayerIndex = players.indexOf(currentPlayer);
                     int nextPlayerIndex = (currentPlayerIndex + 1) % players.size();
                     Player nextPlayer = players.get(nextPlayerIndex);
@@ -247,93 +251,26 @@ public class TurnManager {
             }
         }
 
-        InputManager.clearInput();
+        inputQueue.clearInput();
     }
 
     /**
-     * Displays the current game state to all players.
+     * Displays the current game state to all players, as a single screen update.
      */
     public void displayGameState(GameState gameState, Player currentPlayer) {
-        List<Player> players = gameState.getPlayers();
-        ArrayList<Card> parade = gameState.getParade();
-
-        // Build lines for boxed section
-        List<String> boxedLines = new ArrayList<>();
-
-        // Current Turn Line
-        StringBuilder turnLine = new StringBuilder("Current Turn: ");
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            String name = PlayerDisplayUtils.getDisplayName(p);
-            if (p.equals(currentPlayer)) {
-                turnLine.append(UIConstants.GREEN).append(name).append(UIConstants.RESET_COLOR);
-            } else {
-                turnLine.append(UIConstants.GRAY).append(name).append(UIConstants.RESET_COLOR);
-            }
-            if (i < players.size() - 1) {
-                turnLine.append(" ➤  ");
-            }
-        }
-        boxedLines.add(turnLine.toString());
-
-        // Each player's river (store string representations of cards, not color-coded visuals)
-        for (Player p : players) {
-            boxedLines.add("");
-            boxedLines.add(PlayerDisplayUtils.getDisplayName(p) + "'s River:");
-            ArrayList<Card> river = p.getRiver();
-            if (river == null || river.isEmpty()) {
-                boxedLines.add("  (Empty)");
-            } else {
-                ArrayList<Card> sortedRiver = new ArrayList<>(river);
-                Collections.sort(sortedRiver, new CardComparator());
-                String[] riverLines = CardPrinter.printCardRow(sortedRiver, true).split("\n");
-                boxedLines.addAll(Arrays.asList(riverLines));
-            }
-        }
-
-        // Add Parade inside the box
-        boxedLines.add("");
-        boxedLines.add("The Parade:");
-        String[] paradeLines = CardPrinter.printCardRow(parade, true).split("\n");
-        boxedLines.addAll(Arrays.asList(paradeLines));
-
-        // Encapsulate inside a box
-        int maxLength = boxedLines.stream().mapToInt(line -> line.replaceAll("\\e\\[[;\\d]*m", "").length()).max().orElse(0);
-        String top = "╭" + "─".repeat(maxLength + 2) + "╮";
-        String bottom = "╰" + "─".repeat(maxLength + 2) + "╯";
-
-        ui.broadcastMessage(top);
-        for (String line : boxedLines) {
-            ui.broadcastMessage("│ " + padRight(line, maxLength) + " │");
-        }
-        ui.broadcastMessage(bottom);
-
-        // Show hand for current human player only
-        if (currentPlayer instanceof HumanPlayer) {
-            HumanPlayer hp = (HumanPlayer) currentPlayer;
-            Session s = hp.getSession();
-            ui.displayMessage("Your Hand:", s);
-            ui.displayMessage(CardPrinter.printCardRow(hp.getHand(), false), s);
+        ui.beginFrame();
+        try {
+            ui.displayGameState(gameState, currentPlayer);
+        } finally {
+            ui.commitFrame();
         }
     }
 
-    private String padRight(String text, int width) {
-        String plainText = text.replaceAll("\\e\\[[;\\d]*m", "");
-        return text + " ".repeat(Math.max(0, width - plainText.length()));
-    }
-
     /**
-     * Displays information about a card being played or discarded.
+     * Displays information about a card being discarded.
     */
-    public void displayCardPlayedOrDiscarded(Player currentPlayer, Card choice, String action) {
-        // Move displayCardPlayedOrDiscarded logic here
-        if (action.equals(GameplayConstants.PLAY)) {
-            ui.broadcastMessage(PlayerDisplayUtils.getDisplayName(currentPlayer) + " played:");
-            ui.broadcastMessage(CardPrinter.printCardRow(Collections.singletonList(choice), false));
-        } else {
-            ui.broadcastMessage(PlayerDisplayUtils.getDisplayName(currentPlayer) + " discarded:");
-            ui.broadcastMessage(CardPrinter.printCardRow(Collections.singletonList(choice), false));
-        }
+    public void displayDiscard(GameState gameState, Player currentPlayer, Card choice) {
+        ui.displayPlay(gameState, currentPlayer, choice, null);
     }
 
 
@@ -0,0 +1,133 @@
+package game;
+
+import cards.Card;
+import cards.CardSet;
+import cards.Parade;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A multiplayer client's copy of the public board: every river, the parade and whose turn it
+ * is, kept up to date from the server's {@link GameProtocol} updates.
+ *
+ * Every change to the board has a version number one higher than the last. A keyframe replaces
+ * the whole board; a delta applies one play or river to it. Plays are replayed with the real
+ * capture rule and checked against the cards the server says were taken, so a copy that has
+ * drifted is noticed. A delta that doesn't follow on from the current version, or doesn't
+ * match, leaves the board out of sync until the next keyframe.
+ */
+public class VersionedBoard {
+    private long version = -1;
+    private boolean inSync;
+    private int currentSeat;
+    private final List<CardSet> rivers = new ArrayList<>();
+    private final Parade parade = new Parade();
+
+    /**
+     * Replaces the board with a keyframe. A keyframe older than a board that is in sync is
+     * ignored, as the deltas since then have already been applied.
+     */
+    public void applyKeyframe(long version, int currentSeat, List<List<Card>> rivers, List<Card> parade) {
+        if (inSync && version < this.version) {
+            return;
+        }
+        this.version = version;
+        this.currentSeat = currentSeat;
+        this.rivers.clear();
+        for (List<Card> river : rivers) {
+            CardSet set = new CardSet();
+            set.addAll(river);
+            this.rivers.add(set);
+        }
+        this.parade.clear();
+        this.parade.addAll(parade);
+        inSync = true;
+    }
+
+    /**
+     * Applies a play.
+     *
+     * @param version The version the play brings the board to
+     * @param taken   The cards the server says were taken, or null for a discard, which changes nothing
+     * @return whether the board is still in sync
+     */
+    public boolean applyPlay(long version, int seat, Card card, List<Card> taken) {
+        if (taken == null || !follows(version)) {
+            return inSync;
+        }
+        if (seat >= rivers.size() || !ParadeEngine.resolveParade(parade, card).equals(taken)) {
+            inSync = false;
+            return false;
+        }
+        rivers.get(seat).addAll(taken);
+        this.version = version;
+        return true;
+    }
+
+    /**
+     * Replaces a player's river, as happens when their last cards join it.
+     *
+     * @return whether the board is still in sync
+     */
+    public boolean applyRiver(long version, int seat, List<Card> river) {
+        if (!follows(version)) {
+            return inSync;
+        }
+        if (seat >= rivers.size()) {
+            inSync = false;
+            return false;
+        }
+        CardSet set = rivers.get(seat);
+        set.clear();
+        set.addAll(river);
+        this.version = version;
+        return true;
+    }
+
+    /**
+     * Moves the turn on before the board is shown.
+     *
+     * @return whether the board is at the given version and can be shown
+     */
+    public boolean show(long version, int currentSeat) {
+        if (!inSync || version != this.version) {
+            inSync = false;
+            return false;
+        }
+        this.currentSeat = currentSeat;
+        return true;
+    }
+
+    // Whether a delta should be applied: stale deltas are skipped, and a gap means updates were missed
+    private boolean follows(long version) {
+        if (!inSync || version <= this.version) {
+            return false;
+        }
+        if (version != this.version + 1) {
+            inSync = false;
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isInSync() {
+        return inSync;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public List<CardSet> getRivers() {
+        return rivers;
+    }
+
+    public Parade getParade() {
+        return parade;
+    }
+}
@@ -0,0 +1,62 @@
+package game;
+
+/**
+ * Zobrist keys for hashing {@link SearchState} positions.
+ *
+ * Keys are derived on the fly from a SplitMix64 mix of the component and its coordinates rather
+ * than looked up in pre-generated tables, so they work for any parade length or number of players.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5DEECE66DL;
+
+    // One domain per kind of component so keys never collide across kinds
+    private static final long PARADE = 1;
+    private static final long RIVER = 2;
+    private static final long HAND = 3;
+    private static final long PLAYER = 4;
+    private static final long DECK = 5;
+    private static final long PHASE = 6;
+
+    private Zobrist() {
+    }
+
+    /**
+     * SplitMix64 finalizer: a cheap, well-distributed 64-bit mix.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long key(long domain, long a, long b) {
+        return mix(SEED + mix(domain * 0x9E3779B97F4A7C15L + a) + b * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    /**
+     * @param position Index of the card counted from the back of the parade
+     */
+    public static long paradeKey(int position, int cardId) {
+        return key(PARADE, position, cardId);
+    }
+
+    public static long riverKey(int player, int cardId) {
+        return key(RIVER, player, cardId);
+    }
+
+    public static long handKey(int player, int cardId) {
+        return key(HAND, player, cardId);
+    }
+
+    public static long playerKey(int player) {
+        return key(PLAYER, player, 0);
+    }
+
+    public static long deckKey(int cursor) {
+        return key(DECK, cursor, 0);
+    }
+
+    public static long phaseKey(int phase, int discardsLeft) {
+        return key(PHASE, phase, discardsLeft);
+    }
+}
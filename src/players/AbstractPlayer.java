@@ -7,13 +7,13 @@ public abstract class AbstractPlayer implements Player {
     // Store the player's current hand.
     protected ArrayList<Card> hand;
     
-    // Store the player's river (score pile).
-    protected ArrayList<Card> river;
+    // Store the player's river (score pile), kept in CardComparator order.
+    protected CardSet river;
 
     // Constructor
     public AbstractPlayer(ArrayList<Card> hand) {
         this.hand = hand;
-        this.river = new ArrayList<Card>();
+        this.river = new CardSet();
     }
 
     // Plays a card from the hand at the given index.
@@ -31,11 +31,10 @@ public abstract class AbstractPlayer implements Player {
         hand.add(newCard);
     }
 
-    // Adds a card to the river and sorts the river.
+    // Adds a card to the river (the river is always sorted).
     @Override
     public void addToRiver(Card toAdd) {
         river.add(toAdd);
-        Collections.sort(river, new CardComparator());
     }
     
     // Getter for the hand.
@@ -46,7 +45,7 @@ public abstract class AbstractPlayer implements Player {
     
     // Getter for the river.
     @Override
-    public ArrayList<Card> getRiver() {
+    public CardSet getRiver() {
         return river;
     }
 }
@@ -0,0 +1,12 @@
+package players;
+
+import cards.Card;
+import java.util.concurrent.CompletableFuture;
+
+// A player that waits a moment before showing its move, so people at the table can follow along.
+public interface PacedPlayer extends Player {
+    // Chooses the card and takes it out of the hand right away, like chooseCardToPlay, but returns
+    // it as a future that completes once the delay has passed. The game thread resumes the turn
+    // when it does, and can serve its room instead of sleeping in the meantime.
+    CompletableFuture<Card> revealCardToPlay();
+}
@@ -1,6 +1,8 @@
 package players;
 
 import cards.*;
+import game.GameState;
+import game.PlayResult;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -19,8 +21,8 @@ public interface Player extends Serializable {
     // Returns the player's current hand.
     ArrayList<Card> getHand();
     
-    // Returns the player's river.
-    ArrayList<Card> getRiver();
+    // Returns the player's river, in CardComparator order.
+    CardSet getRiver();
 
     String getName();
 
@@ -29,4 +31,12 @@ public interface Player extends Serializable {
 
     // Return card to discard
     public abstract Card chooseCardToDiscard();
+
+    // Called when a game using this player is set up, so players that search can see the table.
+    default void observeGame(GameState gameState) {
+    }
+
+    // Called on every player after any play. The drawn card must only be looked at by the player who drew it.
+    default void observePlay(Player player, PlayResult result) {
+    }
 }
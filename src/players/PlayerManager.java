@@ -8,6 +8,7 @@ import cards.Deck;
 import players.Player;
 import players.computer.BeginnerComputerPlayer;
 import players.computer.IntermediateComputerPlayer;
+import players.computer.ExpertComputerPlayer;
 import players.computer.PlayerNameManager;
 import account.*;
 import java.util.*;
@@ -27,6 +28,7 @@ public class PlayerManager {
     // private Random random = new Random();
 
     public void initializeHumanPlayers(Map<Session, Account> sessions, boolean isMulti) {
+        prepareDeck(players.size() + sessions.size());
         Map<String, Integer> usernames = new HashMap<String, Integer>();
         for (Map.Entry<Session, Account> entry : sessions.entrySet()) {
             Session s = entry.getKey();
@@ -55,10 +57,11 @@ public class PlayerManager {
     }
 
     public void initializeComputerPlayers(int count) {
+        prepareDeck(players.size() + count);
         for (int i = 1; i <= count; i++) {
             while (true) {
                 try {
-                    System.out.print(UIConstants.RESET_COLOR + "\nEnter difficulty of bot " + i + " (Level 1 or 2)" + UIConstants.ConsoleInput);
+                    System.out.print(UIConstants.RESET_COLOR + "\nEnter difficulty of bot " + i + " (Level 1, 2 or 3)" + UIConstants.ConsoleInput);
                     String difficulty = sc.nextLine();
                     int diffLvl = Integer.parseInt(difficulty);
                     Player bot = checkDiff(diffLvl);
@@ -72,12 +75,24 @@ public class PlayerManager {
         }
     }
 
+    /**
+     * Adds bots of one difficulty without asking the console.
+     */
+    public void initializeComputerPlayers(int count, int diffLvl) {
+        prepareDeck(players.size() + count);
+        for (int i = 0; i < count; i++) {
+            players.add(checkDiff(diffLvl));
+        }
+    }
+
     public Player checkDiff(int diffLvl) throws NumberFormatException{
         switch (diffLvl) {
             case 1:
-                return new BeginnerComputerPlayer(initialiseHand(), nameManager.assignName().getDisplayName());
+                return new BeginnerComputerPlayer(initialiseHand(), nameManager.assignDisplayName());
             case 2:
-                return new IntermediateComputerPlayer(initialiseHand(), nameManager.assignName().getDisplayName());
+                return new IntermediateComputerPlayer(initialiseHand(), nameManager.assignDisplayName());
+            case 3:
+                return new ExpertComputerPlayer(initialiseHand(), nameManager.assignDisplayName());
             default:
                 throw new NumberFormatException();
         }
@@ -86,4 +101,23 @@ public class PlayerManager {
     public ArrayList<Player> getPlayers() {
         return players;
     }
+
+    // The deck the hands were dealt from; the game continues drawing from it.
+    public Deck getDeck() {
+        return deck;
+    }
+
+    // Mega Parade tables need more than one deck. Nothing has been played yet when the table grows,
+    // so the players seated so far are simply dealt again from the bigger deck.
+    private void prepareDeck(int numPlayers) {
+        int deckCount = Deck.decksFor(numPlayers);
+        if (deckCount <= deck.getDeckCount()) {
+            return;
+        }
+        deck = new Deck(deckCount, new SplittableRandom().nextLong());
+        for (Player player : players) {
+            player.getHand().clear();
+            player.getHand().addAll(initialiseHand());
+        }
+    }
 }
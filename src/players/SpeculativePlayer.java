@@ -0,0 +1,12 @@
+package players;
+
+import game.GameState;
+import java.util.concurrent.Executor;
+
+// A player that can use the time another player spends deciding to work out its replies in advance.
+public interface SpeculativePlayer extends Player {
+    // Called on the game thread just before the mover chooses a card. Must return promptly; the work
+    // happens on the game's executor, and the reply matching the mover's card is picked up through
+    // observePlay. Any other play discards the speculation.
+    void speculate(GameState gameState, Player mover, Executor executor);
+}
@@ -2,33 +2,41 @@ package players.computer;
 
 import cards.*;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import players.*;
 
-public class BeginnerComputerPlayer extends AbstractPlayer {
+public class BeginnerComputerPlayer extends AbstractPlayer implements PacedPlayer {
     private Random random;
     private String name;
-    private final int ACTION_DELAY = 2000; //hard coded pause value(for the blitz gamemodes)
+    private static final BotPacing DEFAULT_PACING = BotPacing.realistic(2000); //hard coded pause value(for the blitz gamemodes)
+    private final BotPacing pacing;
 
     public BeginnerComputerPlayer(ArrayList<Card> hand, String name) {
+        this(hand, name, DEFAULT_PACING);
+    }
+
+    // Headless simulations use BotPacing.NONE, which also skips the console commentary.
+    public BeginnerComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing) {
+        this(hand, name, pacing, new Random());
+    }
+
+    // A seeded bot makes the same choices every time, so simulated games can be replayed.
+    public BeginnerComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing, long seed) {
+        this(hand, name, pacing, new Random(seed));
+    }
+
+    private BeginnerComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing, Random random) {
         super(hand);
         this.name = name;
-        this.random = new Random();
+        this.random = random;
+        this.pacing = pacing;
     }
 
     @Override
     public Card chooseCardToPlay() {
         try {
-            Thread.sleep(ACTION_DELAY);
-            if (hand.isEmpty()) {
-                System.out.println(name + " has no cards to play.");
-                return null;
-            }
-            // Completely random selection
-            int index = random.nextInt(hand.size());
-            Card card = playCard(index);
-            return card;
+            return BotPacing.awaitReveal(revealCardToPlay());
         } catch (InterruptedException e) {
             System.out.println("Thread was interrupted");
             e.printStackTrace();
@@ -36,17 +44,27 @@ public class BeginnerComputerPlayer extends AbstractPlayer {
         }
     }
 
+    @Override
+    public CompletableFuture<Card> revealCardToPlay() {
+        long start = System.nanoTime();
+        if (hand.isEmpty()) {
+            pacing.announce(name + " has no cards to play.");
+            return CompletableFuture.completedFuture(null);
+        }
+        // Completely random selection
+        int index = random.nextInt(hand.size());
+        return pacing.reveal(playCard(index), start);
+    }
+
     @Override
     public Card chooseCardToDiscard() {
         if (hand.isEmpty()) {
-            System.out.println(name + " has no cards to play.");
+            pacing.announce(name + " has no cards to play.");
             return null;
         }
         // Completely random selection
         int randomCardIndex = random.nextInt(hand.size());
-        Card card = playCard(randomCardIndex);
-        CardPrinter.printCardRow(Collections.singletonList(card), false);
-        return card;
+        return playCard(randomCardIndex);
     }
 
     public String getName() {
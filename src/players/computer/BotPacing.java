@@ -0,0 +1,105 @@
+package players.computer;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a computer player paces its moves and whether it comments on them.
+ *
+ * At a table with people a bot waits a moment before revealing each move so players can follow
+ * along, and prints what it plays. Simulations and tests use {@link #NONE}: moves are revealed
+ * as soon as they are chosen and nothing is printed.
+ *
+ * The delay is a deadline counted from the start of the turn, so time spent thinking is part of
+ * it rather than added to it. The reveal is scheduled on one shared timer thread, so the game
+ * thread gets the move as a future and can serve its room until the move is shown (see
+ * {@link players.PacedPlayer}); with no delay the timer is never touched.
+ */
+public final class BotPacing implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final BotPacing NONE = new BotPacing(0, false);
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bot-pacing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long delayMillis;
+    private final boolean verbose;
+
+    private BotPacing(long delayMillis, boolean verbose) {
+        this.delayMillis = delayMillis;
+        this.verbose = verbose;
+    }
+
+    /**
+     * @param delayMillis Minimum time each move takes, thinking included
+     * @return pacing for tables with people: moves are delayed and announced on the console
+     */
+    public static BotPacing realistic(long delayMillis) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + delayMillis);
+        }
+        return new BotPacing(delayMillis, true);
+    }
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * @return whether the bot should print its moves
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Prints a line of commentary if this pacing is verbose.
+     */
+    public void announce(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * Reveals a move once the turn's delay has passed.
+     *
+     * @param move       The chosen move
+     * @param startNanos {@link System#nanoTime()} when the turn started
+     * @return a future completed with the move at the deadline, or already completed if it has passed
+     */
+    public <T> CompletableFuture<T> reveal(T move, long startNanos) {
+        long remainingNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis) - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return CompletableFuture.completedFuture(move);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        TIMER.schedule(() -> future.complete(move), remainingNanos, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Blocks until a {@link #reveal} fires, for callers that have nothing else to do meanwhile.
+     */
+    public static <T> T awaitReveal(CompletableFuture<T> reveal) throws InterruptedException {
+        try {
+            return reveal.get();
+        } catch (ExecutionException e) {
+            // The timer only ever completes normally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return verbose ? "realistic(" + delayMillis + " ms)" : "none";
+    }
+}
@@ -0,0 +1,233 @@
+package players.computer;
+
+import cards.*;
+import game.GameState;
+import game.PlayResult;
+import java.util.Arrays;
+import java.util.List;
+import players.Player;
+
+/**
+ * One player's view of which cards they have not seen: the undrawn deck and the other players'
+ * hands together. It starts from every card of the game's decks minus the parade, every river and
+ * the player's own hand, and is then kept up to date from {@link Player#observePlay} events, each
+ * of which costs O(1). With several decks the unseen pool holds one entry per copy.
+ *
+ * Counts per color, per value and of values at most v are cached, so the chance that a random
+ * unseen card (such as the next card an opponent plays) has a given color or a value at most v is
+ * a single division. Hypergeometric helpers answer questions about several unseen cards at once,
+ * such as whether an opponent's hand holds any card of a color.
+ */
+public class CardTracker {
+    private final Player self;
+    private final CardSet unseen = new CardSet();
+    private final int[] valueCounts = new int[Card.NUM_VALUES];
+    // valueAtMostCounts[v] = number of unseen cards with value <= v
+    private final int[] valueAtMostCounts = new int[Card.NUM_VALUES];
+    // The same per color, NUM_VALUES entries per color ordinal
+    private final int[] colorValueAtMostCounts = new int[CardColor.values().length * Card.NUM_VALUES];
+    private boolean initialized;
+
+    /**
+     * @param self The player whose view this is
+     */
+    public CardTracker(Player self) {
+        this.self = self;
+    }
+
+    /**
+     * Rebuilds the model from the table as it is now.
+     */
+    public void reset(GameState gameState) {
+        unseen.clear();
+        int deckCount = gameState.getDeck().getDeckCount();
+        for (int id = 0; id < Card.NUM_CARDS; id++) {
+            for (int copy = 0; copy < deckCount; copy++) {
+                unseen.addId(id);
+            }
+        }
+        // One copy is seen per card on the table, so remove them one at a time
+        for (Card c : gameState.getParade()) {
+            unseen.remove(c);
+        }
+        for (Player p : gameState.getPlayers()) {
+            for (Card c : p.getRiver()) {
+                unseen.remove(c);
+            }
+        }
+        for (Card c : self.getHand()) {
+            unseen.remove(c);
+        }
+
+        Arrays.fill(valueCounts, 0);
+        Arrays.fill(colorValueAtMostCounts, 0);
+        for (Card c : unseen) {
+            valueCounts[c.getValue()]++;
+            int base = c.getColor().ordinal() * Card.NUM_VALUES;
+            for (int v = c.getValue(); v < Card.NUM_VALUES; v++) {
+                colorValueAtMostCounts[base + v]++;
+            }
+        }
+        int cumulative = 0;
+        for (int v = 0; v < Card.NUM_VALUES; v++) {
+            cumulative += valueCounts[v];
+            valueAtMostCounts[v] = cumulative;
+        }
+        initialized = true;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Updates the model after a play. Other players' plays reveal the played card; only the
+     * tracking player's own draws are revealed to them. Cards taken from the parade were already
+     * seen.
+     */
+    public void observePlay(Player player, PlayResult result) {
+        if (!initialized) {
+            return;
+        }
+        markSeen(result.getPlayedCard());
+        if (player == self && result.getDrawnCard() != null) {
+            markSeen(result.getDrawnCard());
+        }
+    }
+
+    /**
+     * Removes a card from the unseen pool, e.g. an opponent's discard.
+     */
+    public void markSeen(Card card) {
+        if (!unseen.remove(card)) {
+            return;
+        }
+        int value = card.getValue();
+        int base = card.getColor().ordinal() * Card.NUM_VALUES;
+        valueCounts[value]--;
+        for (int v = value; v < Card.NUM_VALUES; v++) {
+            valueAtMostCounts[v]--;
+            colorValueAtMostCounts[base + v]--;
+        }
+    }
+
+    // Counts
+
+    public int getUnseenCount() {
+        return unseen.size();
+    }
+
+    public boolean isUnseen(Card card) {
+        return unseen.contains(card);
+    }
+
+    public int countColor(CardColor color) {
+        return unseen.countColor(color);
+    }
+
+    public int countValue(int value) {
+        return valueCounts[value];
+    }
+
+    public int countValueAtMost(int value) {
+        if (value < Card.MIN_VALUE) {
+            return 0;
+        }
+        return valueAtMostCounts[Math.min(value, Card.MAX_VALUE)];
+    }
+
+    public int countColorValueAtMost(CardColor color, int value) {
+        if (value < Card.MIN_VALUE) {
+            return 0;
+        }
+        return colorValueAtMostCounts[color.ordinal() * Card.NUM_VALUES + Math.min(value, Card.MAX_VALUE)];
+    }
+
+    // Probabilities for one random unseen card
+
+    public double probabilityOfColor(CardColor color) {
+        return ratio(countColor(color), unseen.size());
+    }
+
+    public double probabilityOfValueAtMost(int value) {
+        return ratio(countValueAtMost(value), unseen.size());
+    }
+
+    /**
+     * @param position   Position of the card from the front of the parade
+     * @param paradeCard The card at that position
+     * @return the probability that a random unseen card played next would take it: the played
+     *         card must leave it outside the safe zone and match its color or have a value at
+     *         least as high
+     */
+    public double probabilityCaptures(int position, Card paradeCard) {
+        // After the play the card is at position + 1, so the played value can be at most that
+        int maxValue = position + 1;
+        int value = paradeCard.getValue();
+        CardColor color = paradeCard.getColor();
+        int capturing = countColorValueAtMost(color, maxValue);
+        if (value <= maxValue) {
+            // Add the other colors with a value from `value` up to maxValue
+            capturing += countValueAtMost(maxValue) - countValueAtMost(value - 1)
+                    - (countColorValueAtMost(color, maxValue) - countColorValueAtMost(color, value - 1));
+        }
+        return ratio(capturing, unseen.size());
+    }
+
+    /**
+     * @return the expected number of cards a random unseen card played next would take
+     */
+    public double expectedCaptures(List<Card> parade) {
+        double expected = 0;
+        for (int i = 0; i < parade.size(); i++) {
+            expected += probabilityCaptures(i, parade.get(i));
+        }
+        return expected;
+    }
+
+    // Probabilities for several unseen cards
+
+    /**
+     * @return the probability that a hand of {@code handSize} random unseen cards holds at least
+     *         one card of the color
+     */
+    public double probabilityHandHoldsColor(CardColor color, int handSize) {
+        return 1 - hypergeometric(unseen.size(), countColor(color), handSize, 0);
+    }
+
+    /**
+     * @return the probability that a hand of {@code handSize} random unseen cards holds at least
+     *         one card with a value at most {@code value}
+     */
+    public double probabilityHandHoldsValueAtMost(int value, int handSize) {
+        return 1 - hypergeometric(unseen.size(), countValueAtMost(value), handSize, 0);
+    }
+
+    /**
+     * Hypergeometric probability of exactly {@code k} successes in {@code draws} draws without
+     * replacement from a population of {@code population} containing {@code successes} successes.
+     * Computed as a running product, so it costs O(draws) and never overflows.
+     */
+    public static double hypergeometric(int population, int successes, int draws, int k) {
+        int failures = population - successes;
+        if (draws > population || k < 0 || k > draws || k > successes || draws - k > failures) {
+            return 0;
+        }
+        // C(S, k) * C(F, n - k) / C(N, n), built up one factor at a time
+        double p = 1;
+        for (int i = 0; i < k; i++) {
+            p *= (double) (successes - i) / (k - i);
+        }
+        for (int i = 0; i < draws - k; i++) {
+            p *= (double) (failures - i) / (draws - k - i);
+        }
+        for (int i = 0; i < draws; i++) {
+            p *= (double) (draws - i) / (population - i);
+        }
+        return p;
+    }
+
+    private static double ratio(int count, int total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
@@ -0,0 +1,282 @@
+package players.computer;
+
+import cards.Card;
+import constants.GameplayConstants;
+import game.SearchState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Solves the last round exactly once the deck is empty: the remaining final plays and every
+ * player's two discards.
+ *
+ * Each position is searched max-n style: the player to move picks the move that leaves them the
+ * lowest final score (ties go to the move that leaves the best opponent worse off), and the
+ * whole score vector is backed up. Scores follow {@link game.ScoreCalculator}'s majority rules via
+ * {@link SearchState#computeScores(int[])}. Solved positions are stored in a
+ * {@link TranspositionTable}, so the many discard orders that reach the same hands and rivers,
+ * and positions shared between different guesses about hidden hands, are only solved once.
+ *
+ * The two discards of a player are searched as an unordered pair (the second card must not have a
+ * lower id than the first), which halves the discard tree without changing any result.
+ *
+ * Hidden hands are handled by solving several random redistributions and averaging. A node
+ * budget bounds the work: positions whose tree is clearly too big are refused up front, and
+ * otherwise as many redistributions are averaged as fit in the budget.
+ */
+public class EndgameSolver {
+    private final TranspositionTable table;
+    private final long nodeBudget;
+    private long nodes;
+
+    // Score vectors for each ply of the recursion
+    private int[][] childScores = new int[0][];
+    private int[][] bestScores = new int[0][];
+
+    /**
+     * @param numPlayers Number of players in the games to be solved
+     * @param capacity   Minimum number of positions to remember
+     * @param nodeBudget Maximum number of positions to search per decision
+     */
+    public EndgameSolver(int numPlayers, int capacity, long nodeBudget) {
+        this.table = new TranspositionTable(capacity, numPlayers);
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * @return whether the position can be solved: the deck is empty and no more cards will be drawn
+     */
+    public static boolean isSolvable(SearchState state) {
+        return state.getPhase() != SearchState.Phase.PLAY;
+    }
+
+    /**
+     * Chooses the current player's card by solving random redistributions of the cards they cannot
+     * see and picking the card with the lowest average final score.
+     *
+     * @param root            The position, with the deciding player to move. It is not modified.
+     * @param determinizations Number of redistributions to solve
+     * @param random          Source of the redistributions
+     * @return the chosen card id, or -1 if the position is not solvable or the budget ran out
+     */
+    public int chooseCard(SearchState root, int determinizations, SplittableRandom random) {
+        if (!isSolvable(root) || root.isTerminal() || estimateLeaves(root) > nodeBudget) {
+            return -1;
+        }
+        nodes = 0;
+        table.newSearch();
+        int viewer = root.getCurrentPlayer();
+        int handSize = root.getHandSize(viewer);
+        // By hand slot, since with several decks two slots can hold the same card
+        long[] totals = new long[handSize];
+        int[] roundTotals = new int[handSize];
+        int[] scores = new int[root.getNumPlayers()];
+        SearchState state = root.copy();
+
+        int solvedRounds = 0;
+        for (int d = 0; d < determinizations; d++) {
+            state.copyPositionFrom(root);
+            state.redistributeHiddenCards(viewer, random);
+            boolean solved = true;
+            for (int slot = 0; slot < handSize && solved; slot++) {
+                state.makeMove(slot);
+                solved = solve(state, scores, 0);
+                state.unmakeMove();
+                roundTotals[slot] = scores[viewer];
+            }
+            if (!solved) {
+                break;
+            }
+            // Hand slots are unaffected by redistribution, so slot i is the same card every round
+            for (int slot = 0; slot < handSize; slot++) {
+                totals[slot] += roundTotals[slot];
+            }
+            solvedRounds++;
+        }
+        if (solvedRounds == 0) {
+            return -1;
+        }
+
+        int bestSlot = 0;
+        for (int slot = 1; slot < handSize; slot++) {
+            if (totals[slot] < totals[bestSlot]) {
+                bestSlot = slot;
+            }
+        }
+        return root.getHandCard(viewer, bestSlot);
+    }
+
+    /**
+     * Solves a position with all hands known.
+     *
+     * @param state  The position; restored before returning
+     * @param scores Receives every player's final score under best play
+     * @return false if the node budget ran out
+     */
+    public boolean solve(SearchState state, int[] scores) {
+        nodes = 0;
+        table.newSearch();
+        return solve(state, scores, 0);
+    }
+
+    private boolean solve(SearchState state, int[] scores, int ply) {
+        if (state.isTerminal()) {
+            state.computeScores(scores);
+            return true;
+        }
+        int player = state.getCurrentPlayer();
+        int minCard = secondDiscardMinimum(state, player, ply);
+        long key = state.getHash();
+        if (minCard == 0 && table.probe(key, 0, scores)) {
+            return true;
+        }
+        if (++nodes > nodeBudget) {
+            return false;
+        }
+
+        ensurePly(ply, scores.length);
+        int[] child = childScores[ply];
+        int[] best = bestScores[ply];
+        int bestCard = -1;
+        for (int slot = 0; slot < state.getHandSize(player); slot++) {
+            int id = state.getHandCard(player, slot);
+            if (id < minCard) {
+                continue;
+            }
+            state.makeMove(slot);
+            boolean solved = solve(state, child, ply + 1);
+            state.unmakeMove();
+            if (!solved) {
+                return false;
+            }
+            if (bestCard < 0 || isBetter(child, best, player)) {
+                System.arraycopy(child, 0, best, 0, best.length);
+                bestCard = id;
+            }
+        }
+
+        if (minCard == 0) {
+            table.store(key, 0, bestCard, best);
+        }
+        System.arraycopy(best, 0, scores, 0, scores.length);
+        return true;
+    }
+
+    /**
+     * A second discard must not be a lower card than the first, so each pair is tried once (a
+     * second copy of the same card is allowed when several decks are in play). This
+     * only holds below a node that tried every first discard, so not at the caller's root, and if
+     * the first discard was the highest card every second discard is tried again instead.
+     * Restricted results depend on how the position was reached, so they aren't stored.
+     *
+     * @return the lowest card id the player may discard, or 0 for no restriction
+     */
+    private static int secondDiscardMinimum(SearchState state, int player, int ply) {
+        if (ply == 0 || state.getPhase() != SearchState.Phase.DISCARD
+                || state.getDiscardsLeft() >= GameplayConstants.FINAL_DISCARD_COUNT) {
+            return 0;
+        }
+        int minCard = state.getLastMoveCard();
+        for (int slot = 0; slot < state.getHandSize(player); slot++) {
+            if (state.getHandCard(player, slot) >= minCard) {
+                return minCard;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of ways the rest of the game can be played out, capped at
+     *         {@code Long.MAX_VALUE}; the discard pairs count once each
+     */
+    static long estimateLeaves(SearchState state) {
+        int numPlayers = state.getNumPlayers();
+        int current = state.getCurrentPlayer();
+        long leaves = 1;
+        int firstDiscarder = 0;
+        if (state.getPhase() == SearchState.Phase.FINAL) {
+            for (int p = current; p < numPlayers - 1; p++) {
+                leaves = saturatedMultiply(leaves, state.getHandSize(p));
+            }
+        } else if (state.getPhase() == SearchState.Phase.DISCARD) {
+            firstDiscarder = current;
+        } else {
+            return state.isTerminal() ? 1 : Long.MAX_VALUE;
+        }
+
+        for (int p = firstDiscarder; p < numPlayers; p++) {
+            int handSize = state.getHandSize(p);
+            if (state.getPhase() == SearchState.Phase.FINAL && p >= current && p < numPlayers - 1) {
+                handSize--;
+            }
+            int discards = p == current && state.getPhase() == SearchState.Phase.DISCARD
+                    ? state.getDiscardsLeft()
+                    : GameplayConstants.FINAL_DISCARD_COUNT;
+            leaves = saturatedMultiply(leaves, choose(handSize, discards));
+        }
+        return leaves;
+    }
+
+    private static long choose(int n, int k) {
+        if (k < 0 || k > n) {
+            return 1;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    // Lower own score first, then the lowest opponent score as high as possible. Remaining ties
+    // go to higher opponent scores in seat order, so the choice never depends on move order.
+    private static boolean isBetter(int[] candidate, int[] best, int player) {
+        if (candidate[player] != best[player]) {
+            return candidate[player] < best[player];
+        }
+        int candidateOpponent = bestOpponentScore(candidate, player);
+        int bestOpponent = bestOpponentScore(best, player);
+        if (candidateOpponent != bestOpponent) {
+            return candidateOpponent > bestOpponent;
+        }
+        for (int p = 0; p < candidate.length; p++) {
+            if (candidate[p] != best[p]) {
+                return candidate[p] > best[p];
+            }
+        }
+        return false;
+    }
+
+    private static int bestOpponentScore(int[] scores, int player) {
+        int min = Integer.MAX_VALUE;
+        for (int p = 0; p < scores.length; p++) {
+            if (p != player) {
+                min = Math.min(min, scores[p]);
+            }
+        }
+        return min;
+    }
+
+    private void ensurePly(int ply, int numPlayers) {
+        if (ply < childScores.length) {
+            return;
+        }
+        int depth = Math.max(ply + 1, childScores.length * 2);
+        int[][] grownChild = new int[depth][];
+        int[][] grownBest = new int[depth][];
+        for (int i = 0; i < depth; i++) {
+            grownChild[i] = i < childScores.length ? childScores[i] : new int[numPlayers];
+            grownBest[i] = i < bestScores.length ? bestScores[i] : new int[numPlayers];
+        }
+        childScores = grownChild;
+        bestScores = grownBest;
+    }
+
+    public long getNodesSearched() {
+        return nodes;
+    }
+}
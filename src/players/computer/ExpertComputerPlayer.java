@@ -0,0 +1,256 @@
+package players.computer;
+
+import cards.*;
+import constants.GameplayConstants;
+import game.GameState;
+import game.PlayResult;
+import game.SearchState;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import players.*;
+
+/**
+ * Chooses every play and discard with an {@link InformationSetSearch} that stops at a hard
+ * deadline, so each move takes the same time whatever the position.
+ * The bot only looks at what a player at the table could see: its own hand, the parade and the
+ * rivers. Other hands and the deck are guessed afresh on every search iteration.
+ * Because the search is time-budgeted its choices depend on machine speed, even when seeded.
+ *
+ * While the player before it is a person deciding, the bot searches its reply to each card that
+ * person could play, one after another within the game's {@link SpeculationBudget}. Each search
+ * works on its own copy of the position and gets the full search time on one low-priority thread,
+ * so it never takes cores from moves being played at other tables. A reply found ahead is played
+ * without searching again; replies that are no longer needed are interrupted.
+ */
+public class ExpertComputerPlayer extends AbstractPlayer implements SpeculativePlayer, PacedPlayer {
+    private String name;
+    private static final BotPacing DEFAULT_PACING = BotPacing.realistic(1000); //hard coded action delay, including the search time
+    private static final int DEFAULT_SEARCH_MILLIS = 200;
+    private final BotPacing pacing;
+    private final int SEARCH_MILLIS;
+    private transient SplittableRandom random;
+    private transient GameState gameState;
+    private int discardsMade;
+
+    // Once the deck is empty the last round is solved exactly when it is small enough
+    private static final int ENDGAME_DETERMINIZATIONS = 16;
+    private static final int ENDGAME_TABLE_SIZE = 1 << 18;
+    private static final long ENDGAME_NODE_BUDGET = 100_000;
+    private transient EndgameSolver solver;
+
+    private transient Player speculatedMover;
+    // Replies being searched, by the card the mover might play
+    private transient Map<Integer, Future<Integer>> speculations;
+    // The reply to the play that was actually made, waiting for this bot's turn
+    private transient Future<Integer> preparedReply;
+
+    public ExpertComputerPlayer(ArrayList<Card> hand, String name) {
+        this(hand, name, DEFAULT_PACING);
+    }
+
+    // Headless simulations use BotPacing.NONE, which also skips the console commentary.
+    public ExpertComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing) {
+        this(hand, name, pacing, new SplittableRandom().nextLong(), DEFAULT_SEARCH_MILLIS);
+    }
+
+    /**
+     * @param searchMillis Time allowed for each search; the move is chosen when it runs out
+     */
+    public ExpertComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing, long seed, int searchMillis) {
+        super(hand);
+        this.name = name;
+        this.pacing = pacing;
+        this.SEARCH_MILLIS = searchMillis;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void observeGame(GameState gameState) {
+        this.gameState = gameState;
+        this.solver = null;
+        this.discardsMade = 0;
+        cancelSpeculation();
+    }
+
+    @Override
+    public void speculate(GameState gameState, Player mover, Executor executor) {
+        cancelSpeculation();
+        if (gameState != this.gameState || gameState.isGameOver()) {
+            return;
+        }
+        int seat = gameState.getPlayers().indexOf(this);
+        int moverSeat = gameState.getPlayers().indexOf(mover);
+        if (seat < 0 || moverSeat < 0) {
+            return;
+        }
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+
+        SearchState position = gameState.toSearchState(moverSeat, SearchState.Phase.PLAY, 0);
+        speculations = new HashMap<>();
+        speculatedMover = mover;
+        for (int slot = 0; slot < position.getHandSize(moverSeat); slot++) {
+            int cardId = position.getHandCard(moverSeat, slot);
+            // Duplicate cards lead to the same position, so one search covers them all
+            if (speculations.containsKey(cardId)) {
+                continue;
+            }
+            SearchState after = position.copy();
+            after.makeMove(slot);
+            // Plays that end the game lead to the endgame solver instead, which is quick anyway
+            if (after.getPhase() != SearchState.Phase.PLAY || after.getCurrentPlayer() != seat) {
+                continue;
+            }
+            SearchState root = after.copy();
+            long seed = random.nextLong();
+            FutureTask<Integer> reply = new FutureTask<>(() ->
+                    InformationSetSearch.chooseCardOnCallingThread(root, System.nanoTime() + SEARCH_MILLIS * 1_000_000L, seed));
+            try {
+                executor.execute(reply);
+            } catch (RejectedExecutionException e) {
+                // The game has enough searches queued; this card's reply is searched on the turn
+                continue;
+            }
+            speculations.put(cardId, reply);
+        }
+    }
+
+    @Override
+    public void observePlay(Player player, PlayResult result) {
+        Future<Integer> reply = null;
+        if (speculations != null && player == speculatedMover) {
+            reply = speculations.remove(result.getPlayedCard().getId());
+        }
+        cancelSpeculation();
+        preparedReply = reply;
+    }
+
+    private void cancelSpeculation() {
+        if (speculations != null) {
+            for (Future<Integer> future : speculations.values()) {
+                future.cancel(true);
+            }
+        }
+        if (preparedReply != null) {
+            preparedReply.cancel(true);
+        }
+        speculations = null;
+        speculatedMover = null;
+        preparedReply = null;
+    }
+
+    /**
+     * @return the reply searched while the previous player was deciding, or -1 if there is none or
+     *         its search never started, in which case searching now is just as quick
+     */
+    private int takePreparedReply() {
+        Future<Integer> reply = preparedReply;
+        preparedReply = null;
+        if (reply == null || reply.cancel(false)) {
+            return -1;
+        }
+        try {
+            int id = reply.get();
+            return hand.contains(Card.of(id)) ? id : -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (ExecutionException | CancellationException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public Card chooseCardToPlay() {
+        try {
+            return BotPacing.awaitReveal(revealCardToPlay());
+        } catch (InterruptedException e) {
+            System.out.println("Thread was interrupted");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Card> revealCardToPlay() {
+        long start = System.nanoTime();
+        if (hand.isEmpty()) {
+            pacing.announce(name + " has no cards to play.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // The game is flagged over once the last regular turn has been played
+        SearchState.Phase phase = gameState != null && gameState.isGameOver()
+                ? SearchState.Phase.FINAL
+                : SearchState.Phase.PLAY;
+        Card card = playCard(hand.indexOf(chooseCard(phase, 0)));
+        return pacing.reveal(card, start).thenApply(revealed -> {
+            pacing.announce(name + " (Expert) plays: " + revealed);
+            return revealed;
+        });
+    }
+
+    @Override
+    public Card chooseCardToDiscard() {
+        if (hand.isEmpty()) {
+            pacing.announce(name + " has no cards to play.");
+            return null;
+        }
+
+        // Both discards are asked for back to back, so the count tells which one this is
+        int discardsLeft = GameplayConstants.FINAL_DISCARD_COUNT - discardsMade % GameplayConstants.FINAL_DISCARD_COUNT;
+        Card card = playCard(hand.indexOf(chooseCard(SearchState.Phase.DISCARD, discardsLeft)));
+        discardsMade++;
+        return card;
+    }
+
+    /**
+     * Searches the current position, falling back to the highest card if this bot was never
+     * shown the game. In the last round the endgame solver is tried first and the tree search
+     * only gets whatever time it leaves.
+     */
+    private Card chooseCard(SearchState.Phase phase, int discardsLeft) {
+        int seat = gameState == null ? -1 : gameState.getPlayers().indexOf(this);
+        if (seat < 0) {
+            return Collections.max(hand, Comparator.comparing(Card::getValue));
+        }
+
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        if (phase == SearchState.Phase.PLAY) {
+            int prepared = takePreparedReply();
+            if (prepared >= 0) {
+                return Card.of(prepared);
+            }
+        }
+        long deadline = System.nanoTime() + SEARCH_MILLIS * 1_000_000L;
+        SearchState root = gameState.toSearchState(seat, phase, discardsLeft);
+        if (EndgameSolver.isSolvable(root)) {
+            if (solver == null) {
+                solver = new EndgameSolver(gameState.getPlayers().size(), ENDGAME_TABLE_SIZE, ENDGAME_NODE_BUDGET);
+            }
+            int id = solver.chooseCard(root, ENDGAME_DETERMINIZATIONS, random);
+            if (id >= 0) {
+                return Card.of(id);
+            }
+        }
+        return Card.of(InformationSetSearch.chooseCard(root, deadline, random.nextLong()));
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,227 @@
+package players.computer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * The weights of the {@link IntermediateComputerPlayer}'s heuristic. A card's cost is the weighted
+ * sum of its {@link Feature}s and the cheapest card is played.
+ *
+ * Weights are tuned offline by {@code simulation.WeightTuner} and stored as a properties file,
+ * which is read once when the first bot needs it. The file is looked up on the classpath next to
+ * this class, or at the path in the {@value #PATH_PROPERTY} system property when that is set. If
+ * the file is missing or unreadable the built-in {@link #DEFAULTS} are used.
+ *
+ * How the features are combined is part of the weights: see {@link Ranking}. The built-in defaults
+ * rank lexicographically, the way the bot always has; weights built from a vector, including
+ * everything the tuner produces and any file without a {@code RANKING} entry, use the weighted
+ * cost. The default weights only approximate the lexicographic order and are the tuner's
+ * starting point.
+ */
+public final class HeuristicWeights implements Serializable {
+
+    public enum Feature {
+        // Points the play would add to the player's score now
+        PENALTY,
+        // Cards the play would take
+        CARDS_TAKEN,
+        // Taken colors where the majority is within one card
+        MAJORITY_RISK,
+        // Colors the play would add to the river, bringing the six-color ending closer
+        NEW_COLORS,
+        // Cards the next player should expect to take afterwards
+        NEXT_PLAYER_CAPTURES,
+        // Face value of the played card
+        CARD_VALUE
+    }
+
+    public enum Ranking {
+        // Penalty, then cards taken, then the most expected next-player captures, then the highest
+        // value. A weighted sum can't reproduce this for unbounded features, so the weights are ignored
+        LEXICOGRAPHIC,
+        // Lowest weighted cost
+        WEIGHTED
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    // The tuned weights, as a classpath resource beside this class
+    public static final String RESOURCE = "bot_weights.properties";
+
+    // Where the tuner writes its result, relative to the project root
+    public static final String SOURCE_PATH = "src/players/computer/" + RESOURCE;
+
+    // System property naming a weights file to use instead of the resource
+    public static final String PATH_PROPERTY = "parade.botWeights";
+
+    // Properties key for the ranking; files without it use the weighted cost
+    public static final String RANKING_KEY = "RANKING";
+
+    public static final HeuristicWeights DEFAULTS = new HeuristicWeights(new double[] {
+            1.0, 0.01, 0.0, 0.0, -0.0001, -0.000001
+    }, Ranking.LEXICOGRAPHIC);
+
+    private static volatile HeuristicWeights loaded;
+
+    private final double[] values;
+    private final Ranking ranking;
+
+    /**
+     * Weights ranked by {@link Ranking#WEIGHTED} cost.
+     *
+     * @param values One weight per {@link Feature}, in declaration order
+     */
+    public HeuristicWeights(double[] values) {
+        this(values, Ranking.WEIGHTED);
+    }
+
+    /**
+     * @param values  One weight per {@link Feature}, in declaration order
+     * @param ranking How cards are compared
+     */
+    public HeuristicWeights(double[] values, Ranking ranking) {
+        if (values.length != Feature.values().length) {
+            throw new IllegalArgumentException("Expected " + Feature.values().length + " weights, got " + values.length);
+        }
+        this.values = values.clone();
+        this.ranking = ranking;
+    }
+
+    public double get(Feature feature) {
+        return values[feature.ordinal()];
+    }
+
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    public Ranking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * @param features One value per {@link Feature}, in declaration order
+     * @return the weighted cost; lower is better
+     */
+    public double cost(double[] features) {
+        double cost = 0;
+        for (int i = 0; i < values.length; i++) {
+            cost += values[i] * features[i];
+        }
+        return cost;
+    }
+
+    /**
+     * @return the weights in the {@link #PATH_PROPERTY} file or the {@link #RESOURCE}, read on
+     *         first use, or the defaults if neither can be read
+     */
+    public static HeuristicWeights loadDefault() {
+        HeuristicWeights weights = loaded;
+        if (weights == null) {
+            try {
+                String path = System.getProperty(PATH_PROPERTY);
+                if (path != null) {
+                    weights = load(Paths.get(path));
+                } else {
+                    InputStream in = HeuristicWeights.class.getResourceAsStream(RESOURCE);
+                    if (in != null) {
+                        try (Reader reader = new InputStreamReader(in, StandardCharsets.ISO_8859_1)) {
+                            weights = load(reader);
+                        }
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                weights = null;
+            }
+            if (weights == null) {
+                weights = DEFAULTS;
+            }
+            loaded = weights;
+        }
+        return weights;
+    }
+
+    public static HeuristicWeights load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Reads weights in properties format with one {@code FEATURE=weight} entry per feature and
+     * an optional {@code RANKING} entry. Features missing from the input keep their default weight,
+     * and the ranking defaults to {@link Ranking#WEIGHTED}.
+     */
+    public static HeuristicWeights load(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        double[] values = DEFAULTS.toArray();
+        for (Feature feature : Feature.values()) {
+            String value = properties.getProperty(feature.name());
+            if (value != null) {
+                try {
+                    values[feature.ordinal()] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid weight for " + feature + ": " + value, e);
+                }
+            }
+        }
+        Ranking ranking = Ranking.WEIGHTED;
+        String rankingName = properties.getProperty(RANKING_KEY);
+        if (rankingName != null) {
+            try {
+                ranking = Ranking.valueOf(rankingName.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid ranking: " + rankingName, e);
+            }
+        }
+        return new HeuristicWeights(values, ranking);
+    }
+
+    public void save(Path path, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (Feature feature : Feature.values()) {
+            properties.setProperty(feature.name(), Double.toString(values[feature.ordinal()]));
+        }
+        properties.setProperty(RANKING_KEY, ranking.name());
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Feature feature : Feature.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(feature.name()).append('=').append(String.format("%.4f", values[feature.ordinal()]));
+        }
+        if (ranking != Ranking.WEIGHTED) {
+            sb.append(" (").append(ranking.name().toLowerCase()).append(')');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HeuristicWeights && Arrays.equals(values, ((HeuristicWeights) o).values)
+                && ranking == ((HeuristicWeights) o).ranking;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + ranking.hashCode();
+    }
+}
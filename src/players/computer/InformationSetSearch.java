@@ -0,0 +1,281 @@
+package players.computer;
+
+import cards.Card;
+import game.SearchState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-observer Information Set Monte Carlo Tree Search over {@link SearchState}.
+ *
+ * Every iteration redistributes the cards the searching player cannot see, then walks one shared
+ * tree whose edges are card ids, so statistics from different guesses about the hidden cards
+ * are pooled per information set. Opponent moves that are impossible in the current guess are
+ * skipped, and UCB uses how often a move was available rather than the parent's visit count.
+ * Playouts are random and every player is rewarded by their finishing rank.
+ *
+ * The search is root-parallel: each worker grows its own tree until the deadline and the root
+ * visit counts are summed. Workers run on a small pool shared by every bot in the process, plus
+ * the calling thread, so a move is always searched even when the pool is busy with other games.
+ * Every worker stops at the deadline by itself, so the caller waits for them rather than
+ * cancelling them: a worker finishing its last playout just after the caller still counts.
+ */
+public class InformationSetSearch {
+    private static final double EXPLORATION = 0.7;
+    private static final int NUM_THREADS = Runtime.getRuntime().availableProcessors();
+    // How long past the deadline to wait for workers to finish their last playout
+    private static final long JOIN_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(NUM_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "expert-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private InformationSetSearch() {
+    }
+
+    /**
+     * Searches the position until the deadline.
+     *
+     * @param root           The position, with the searching player to move. It is not modified.
+     * @param deadlineNanos  {@link System#nanoTime()} value at which to stop
+     * @param seed           Seed for the workers' randomness
+     * @return the card id of the most visited move, or -1 if the player has no cards
+     */
+    public static int chooseCard(SearchState root, long deadlineNanos, long seed) {
+        int player = root.getCurrentPlayer();
+        if (root.isTerminal() || root.getHandSize(player) == 0) {
+            return -1;
+        }
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 1; i < NUM_THREADS; i++) {
+            long workerSeed = seeds.nextLong();
+            futures.add(POOL.submit(() -> search(root, deadlineNanos, workerSeed, null)));
+        }
+        int[] visits = search(root, deadlineNanos, seeds.nextLong(), null);
+
+        long joinDeadline = deadlineNanos + JOIN_GRACE_NANOS;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                long waitNanos = Math.max(0, joinDeadline - System.nanoTime());
+                int[] workerVisits = futures.get(i).get(waitNanos, TimeUnit.NANOSECONDS);
+                for (int id = 0; id < visits.length; id++) {
+                    visits[id] += workerVisits[id];
+                }
+            } catch (InterruptedException e) {
+                for (Future<int[]> pending : futures.subList(i, futures.size())) {
+                    pending.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } catch (TimeoutException e) {
+                // Still queued behind other games' searches; once it starts it sees the deadline
+                // has passed and returns at once, so it is left to finish
+            } catch (ExecutionException e) {
+                // A failed worker simply doesn't contribute
+            }
+        }
+
+        return mostVisited(root, visits);
+    }
+
+    /**
+     * Like {@link #chooseCard}, but searches on the calling thread only, for background work that
+     * must not take the pool from searches for moves being played now.
+     */
+    public static int chooseCardOnCallingThread(SearchState root, long deadlineNanos, long seed) {
+        int player = root.getCurrentPlayer();
+        if (root.isTerminal() || root.getHandSize(player) == 0) {
+            return -1;
+        }
+        return mostVisited(root, search(root, deadlineNanos, seed, null));
+    }
+
+    private static int mostVisited(SearchState root, int[] visits) {
+        int player = root.getCurrentPlayer();
+        int bestCard = root.getHandCard(player, 0);
+        for (int slot = 1; slot < root.getHandSize(player); slot++) {
+            int id = root.getHandCard(player, slot);
+            if (visits[id] > visits[bestCard]) {
+                bestCard = id;
+            }
+        }
+        return bestCard;
+    }
+
+    /**
+     * Searches the position on the calling thread only, for callers that schedule their own
+     * searches.
+     *
+     * @return the number of visits of each root move, indexed by card id
+     */
+    public static int[] searchOnCallingThread(SearchState root, long deadlineNanos, long seed) {
+        return search(root, deadlineNanos, seed, null);
+    }
+
+    /**
+     * Like {@link #searchOnCallingThread(SearchState, long, long)}, and also adds up the searching
+     * player's final score over every playout, by the root move it followed. Dividing by the
+     * move's visits gives the score the player can expect to finish with after that move.
+     *
+     * @param scoreSums Indexed by card id; added to
+     */
+    public static int[] searchOnCallingThread(SearchState root, long deadlineNanos, long seed, double[] scoreSums) {
+        return search(root, deadlineNanos, seed, scoreSums);
+    }
+
+    /**
+     * Runs one worker's search.
+     *
+     * @param scoreSums If not null, the searching player's final scores are added to it by root move
+     * @return the number of visits of each root move, indexed by card id
+     */
+    private static int[] search(SearchState root, long deadlineNanos, long seed, double[] scoreSums) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int viewer = root.getCurrentPlayer();
+        int numPlayers = root.getNumPlayers();
+        SearchState state = root.copy();
+        Node rootNode = new Node(null, -1, -1);
+        int[] scores = new int[numPlayers];
+        double[] rewards = new double[numPlayers];
+
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            state.copyPositionFrom(root);
+            state.redistributeHiddenCards(viewer, random);
+
+            // Selection and expansion
+            Node node = rootNode;
+            while (!state.isTerminal()) {
+                int player = state.getCurrentPlayer();
+                int handSize = state.getHandSize(player);
+                int untried = 0;
+                for (int slot = 0; slot < handSize; slot++) {
+                    Node child = node.getChild(state.getHandCard(player, slot));
+                    if (child == null) {
+                        untried++;
+                    } else {
+                        child.availability++;
+                    }
+                }
+
+                if (untried > 0) {
+                    int pick = random.nextInt(untried);
+                    for (int slot = 0; slot < handSize; slot++) {
+                        int id = state.getHandCard(player, slot);
+                        if (node.getChild(id) == null && pick-- == 0) {
+                            node = node.addChild(id, player);
+                            state.makeMove(slot);
+                            break;
+                        }
+                    }
+                    break;
+                }
+
+                int bestSlot = 0;
+                Node best = null;
+                double bestValue = Double.NEGATIVE_INFINITY;
+                for (int slot = 0; slot < handSize; slot++) {
+                    Node child = node.getChild(state.getHandCard(player, slot));
+                    double value = child.totalReward / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = child;
+                        bestSlot = slot;
+                    }
+                }
+                node = best;
+                state.makeMove(bestSlot);
+            }
+
+            // Random playout
+            while (!state.isTerminal()) {
+                state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+            }
+            state.computeScores(scores);
+            rankRewards(scores, rewards);
+
+            Node rootMove = node;
+            for (Node n = node; n != rootNode; n = n.parent) {
+                n.visits++;
+                n.totalReward += rewards[n.player];
+                rootMove = n;
+            }
+            if (scoreSums != null && rootMove != rootNode) {
+                scoreSums[rootMove.move] += scores[viewer];
+            }
+        }
+
+        int[] visits = new int[Card.NUM_CARDS];
+        for (Node child : rootNode.children) {
+            visits[child.move] = child.visits;
+        }
+        return visits;
+    }
+
+    /**
+     * Rewards each player by the share of opponents they beat (lowest score wins), counting a tie
+     * as half a win. Rewards are in [0, 1].
+     */
+    private static void rankRewards(int[] scores, double[] rewards) {
+        int n = scores.length;
+        for (int p = 0; p < n; p++) {
+            double beaten = 0;
+            for (int q = 0; q < n; q++) {
+                if (q != p) {
+                    if (scores[q] > scores[p]) {
+                        beaten += 1;
+                    } else if (scores[q] == scores[p]) {
+                        beaten += 0.5;
+                    }
+                }
+            }
+            rewards[p] = beaten / (n - 1);
+        }
+    }
+
+    private static class Node {
+        private final Node parent;
+        private final int move;
+        // The player who made the move into this node
+        private final int player;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private int availability;
+        private double totalReward;
+
+        Node(Node parent, int move, int player) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+        }
+
+        Node getChild(int move) {
+            for (int i = 0; i < children.size(); i++) {
+                Node child = children.get(i);
+                if (child.move == move) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int move, int player) {
+            Node child = new Node(this, move, player);
+            child.availability = 1;
+            children.add(child);
+            return child;
+        }
+    }
+}
@@ -1,38 +1,79 @@
 package players.computer;
 
 import cards.*;
+import constants.GameplayConstants;
+import game.GameState;
+import game.ParadeEngine;
+import game.PlayResult;
+import game.SearchState;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 import players.*;
 
-public class IntermediateComputerPlayer extends AbstractPlayer {
+public class IntermediateComputerPlayer extends AbstractPlayer implements PacedPlayer {
     private String name;
-    private final int ACTION_DELAY = 1000; //hard coded action delay
+    private static final BotPacing DEFAULT_PACING = BotPacing.realistic(1000); //hard coded action delay
+    private final BotPacing pacing;
+    private transient GameState gameState;
+    private transient MoveEvaluator evaluator;
+    private transient CardTracker tracker;
+    private final HeuristicWeights weights;
+
+    // The last round is solved exactly over a few guesses at the other hands
+    private static final int ENDGAME_DETERMINIZATIONS = 8;
+    private static final int ENDGAME_TABLE_SIZE = 1 << 16;
+    private static final long ENDGAME_NODE_BUDGET = 100_000;
+    private transient EndgameSolver solver;
+    private transient SplittableRandom random;
+    private int discardsMade;
 
     public IntermediateComputerPlayer(ArrayList<Card> hand, String name) {
+        this(hand, name, DEFAULT_PACING);
+    }
+
+    // Headless simulations use BotPacing.NONE, which also skips the console commentary.
+    public IntermediateComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing) {
+        this(hand, name, pacing, new SplittableRandom().nextLong());
+    }
+
+    // A seeded bot makes the same choices every time, so simulated games can be replayed.
+    public IntermediateComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing, long seed) {
+        this(hand, name, pacing, seed, HeuristicWeights.loadDefault());
+    }
+
+    /**
+     * @param weights How the bot weighs the features of each play; see {@link HeuristicWeights}
+     */
+    public IntermediateComputerPlayer(ArrayList<Card> hand, String name, BotPacing pacing, long seed, HeuristicWeights weights) {
         super(hand);
         this.name = name;
+        this.pacing = pacing;
+        this.random = new SplittableRandom(seed);
+        this.weights = weights;
+    }
+
+    @Override
+    public void observeGame(GameState gameState) {
+        this.gameState = gameState;
+        this.solver = null;
+        this.tracker = null;
+        this.discardsMade = 0;
+    }
+
+    @Override
+    public void observePlay(Player player, PlayResult result) {
+        if (tracker != null) {
+            tracker.observePlay(player, result);
+        }
     }
 
     @Override
     public Card chooseCardToPlay() {
         try {
-            Thread.sleep(ACTION_DELAY);
-            if (hand.isEmpty()) {
-                System.out.println(name + " has no cards to play.");
-                return null;
-            }
-
-            // Always prioritises the card with the highest value
-            //sort hand
-            Collections.sort(hand, Comparator.comparing(Card::getValue));
-    
-            int index = hand.size() - 1;
-            Card card = playCard(index);
-            System.out.println(name + " (Intermediate) plays: " + card);
-            CardPrinter.printCardRow(Collections.singletonList(card), false);
-            return card;
+            return BotPacing.awaitReveal(revealCardToPlay());
         } catch (InterruptedException e) {
             System.out.println("Thread was interrupted");
             e.printStackTrace();
@@ -40,22 +81,152 @@ public class IntermediateComputerPlayer extends AbstractPlayer {
         }
     }
 
+    @Override
+    public CompletableFuture<Card> revealCardToPlay() {
+        long start = System.nanoTime();
+        if (hand.isEmpty()) {
+            pacing.announce(name + " has no cards to play.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Card card = null;
+        if (gameState != null && gameState.isGameOver()) {
+            card = chooseEndgameCard(SearchState.Phase.FINAL, 0);
+        }
+        if (card == null) {
+            card = playCard(chooseLeastPenalty());
+        }
+        return pacing.reveal(card, start).thenApply(revealed -> {
+            pacing.announce(name + " (Intermediate) plays: " + revealed);
+            return revealed;
+        });
+    }
+
+    /**
+     * Plays the card that adds the least to this player's score right now, preferring the card
+     * that takes fewer cards, then the card that leaves the next player expecting to take the most,
+     * then the highest value. Weights with the {@link HeuristicWeights.Ranking#WEIGHTED} ranking,
+     * such as tuned ones, replace that ordering with the card of lowest weighted cost. Without a game to look at it just plays the highest value.
+     *
+     * @return the index in the hand of the chosen card
+     */
+    private int chooseLeastPenalty() {
+        //sort hand
+        Collections.sort(hand, Comparator.comparing(Card::getValue));
+        int seat = gameState == null ? -1 : gameState.getPlayers().indexOf(this);
+        if (seat < 0) {
+            return hand.size() - 1;
+        }
+
+        if (evaluator == null) {
+            evaluator = new MoveEvaluator();
+        }
+        evaluator.loadParade(gameState.getParade());
+        evaluator.loadRivers(gameState.getPlayers(), seat);
+        if (tracker == null) {
+            tracker = new CardTracker(this);
+        }
+        if (!tracker.isInitialized()) {
+            tracker.reset(gameState);
+        }
+        return weights.getRanking() == HeuristicWeights.Ranking.LEXICOGRAPHIC ? chooseByRank() : chooseByCost();
+    }
+
+    // Walk from the highest value down so ties keep the highest card
+    private int chooseByRank() {
+        int bestIndex = hand.size() - 1;
+        int bestPenalty = Integer.MAX_VALUE;
+        int bestTaken = Integer.MAX_VALUE;
+        double bestNextCaptures = -1;
+        for (int i = hand.size() - 1; i >= 0; i--) {
+            int id = hand.get(i).getId();
+            int penalty = evaluator.evaluate(id);
+            int taken = evaluator.countTaken(id);
+            if (penalty > bestPenalty || (penalty == bestPenalty && taken > bestTaken)) {
+                continue;
+            }
+            double nextCaptures = expectedNextCaptures(hand.get(i));
+            if (penalty < bestPenalty || taken < bestTaken || nextCaptures > bestNextCaptures) {
+                bestIndex = i;
+                bestPenalty = penalty;
+                bestTaken = taken;
+                bestNextCaptures = nextCaptures;
+            }
+        }
+        return bestIndex;
+    }
+
+    private int chooseByCost() {
+        double[] features = new double[HeuristicWeights.Feature.values().length];
+        int bestIndex = hand.size() - 1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int i = hand.size() - 1; i >= 0; i--) {
+            Card card = hand.get(i);
+            features[HeuristicWeights.Feature.PENALTY.ordinal()] = evaluator.evaluate(card.getId());
+            features[HeuristicWeights.Feature.MAJORITY_RISK.ordinal()] = evaluator.getLastContestedColors();
+            features[HeuristicWeights.Feature.NEW_COLORS.ordinal()] = evaluator.getLastNewColors();
+            features[HeuristicWeights.Feature.CARDS_TAKEN.ordinal()] = evaluator.countTaken(card.getId());
+            features[HeuristicWeights.Feature.NEXT_PLAYER_CAPTURES.ordinal()] = expectedNextCaptures(card);
+            features[HeuristicWeights.Feature.CARD_VALUE.ordinal()] = card.getValue();
+            double cost = weights.cost(features);
+            if (cost < bestCost) {
+                bestIndex = i;
+                bestCost = cost;
+            }
+        }
+        return bestIndex;
+    }
+
+    // How many cards the next player should expect to take if this card were played now
+    private double expectedNextCaptures(Card card) {
+        Parade after = new Parade(gameState.getParade());
+        ParadeEngine.resolveParade(after, card);
+        return tracker.expectedCaptures(after);
+    }
+
     @Override
     public Card chooseCardToDiscard() {
         if (hand.isEmpty()) {
-            System.out.println(name + " has no cards to play.");
+            pacing.announce(name + " has no cards to play.");
             return null;
         }
 
-        Collections.sort(hand, Comparator.comparing(Card::getValue));
+        // Both discards are asked for back to back, so the count tells which one this is
+        int discardsLeft = GameplayConstants.FINAL_DISCARD_COUNT - discardsMade % GameplayConstants.FINAL_DISCARD_COUNT;
+        discardsMade++;
+        Card card = chooseEndgameCard(SearchState.Phase.DISCARD, discardsLeft);
+        if (card == null) {
+            Collections.sort(hand, Comparator.comparing(Card::getValue));
 
-        // Will discard cards with the highest value
-        int index = hand.size() - 1;
-        Card card = playCard(index);
-        CardPrinter.printCardRow(Collections.singletonList(card), false);
+            // Will discard cards with the highest value
+            int index = hand.size() - 1;
+            card = playCard(index);
+        }
         return card;
     }
 
+    /**
+     * Plays or discards the card chosen by the endgame solver.
+     *
+     * @return the card removed from the hand, or null if the position couldn't be solved in budget
+     */
+    private Card chooseEndgameCard(SearchState.Phase phase, int discardsLeft) {
+        int seat = gameState == null ? -1 : gameState.getPlayers().indexOf(this);
+        if (seat < 0) {
+            return null;
+        }
+        if (solver == null) {
+            solver = new EndgameSolver(gameState.getPlayers().size(), ENDGAME_TABLE_SIZE, ENDGAME_NODE_BUDGET);
+        }
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+
+        SearchState root = gameState.toSearchState(seat, phase, discardsLeft);
+        int id = solver.chooseCard(root, ENDGAME_DETERMINIZATIONS, random);
+        return id < 0 ? null : playCard(hand.indexOf(Card.of(id)));
+    }
+
     public String getName() {
         return name;
     }
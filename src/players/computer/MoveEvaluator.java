@@ -0,0 +1,239 @@
+package players.computer;
+
+import cards.*;
+import game.SearchState;
+import java.util.Arrays;
+import java.util.List;
+import players.Player;
+
+/**
+ * Scores every card in a hand against the current parade without simulating the play.
+ *
+ * The parade is loaded once into bitmasks over parade positions (front = bit 0, as many 64-bit
+ * words as the parade needs): one mask per color, one per "value at most v", and four bit-planes
+ * of the card values. The cards a play would take are then {@code (color | valueAtMost) & safeCut}
+ * word by word, and the taken count and value total of each color are popcounts of that mask
+ * against the color mask and bit-planes. Evaluating a card costs a few dozen popcounts and no
+ * allocation, whatever the parade length.
+ *
+ * The penalty of a card is how much the player's own score would rise if it were played now,
+ * including colors where the taken cards win or lose the player the majority. Each evaluation
+ * also records how many colors the play would add to the river and how many taken colors are
+ * contested, for heuristics that weigh those risks.
+ */
+public class MoveEvaluator {
+    private static final int NUM_COLORS = CardColor.values().length;
+    private static final int NUM_VALUES = Card.NUM_VALUES;
+    private static final int VALUE_BITS = 32 - Integer.numberOfLeadingZeros(Card.MAX_VALUE);
+
+    // Parade masks, `words` longs each
+    private int words;
+    private int paradeSize;
+    private long[] colorMasks = new long[0];
+    private long[] valueAtMostMasks = new long[0];
+    private long[] valueBitMasks = new long[0];
+
+    // The evaluating player's river and the most cards of each color any opponent holds
+    private final int[] ownCounts = new int[NUM_COLORS];
+    private final int[] ownValueSums = new int[NUM_COLORS];
+    private final int[] opponentMaxCounts = new int[NUM_COLORS];
+
+    // Details of the most recent evaluate() call
+    private int lastNewColors;
+    private int lastContestedColors;
+
+    /**
+     * Loads the parade from the real game.
+     */
+    public void loadParade(Parade parade) {
+        resize(parade.size());
+        for (int i = 0; i < paradeSize; i++) {
+            setPosition(i, parade.getId(i));
+        }
+    }
+
+    /**
+     * Loads the parade from a search position.
+     */
+    public void loadParade(SearchState state) {
+        resize(state.getParadeSize());
+        for (int i = 0; i < paradeSize; i++) {
+            setPosition(i, state.getParadeCard(i));
+        }
+    }
+
+    /**
+     * Loads the rivers from the real game.
+     *
+     * @param self Index of the player the penalties are for
+     */
+    public void loadRivers(List<Player> players, int self) {
+        for (int color = 0; color < NUM_COLORS; color++) {
+            CardColor cardColor = CardColor.values()[color];
+            int maxCount = 0;
+            for (int p = 0; p < players.size(); p++) {
+                if (p != self) {
+                    maxCount = Math.max(maxCount, players.get(p).getRiver().countColor(cardColor));
+                }
+            }
+            CardSet river = players.get(self).getRiver();
+            ownCounts[color] = river.countColor(cardColor);
+            ownValueSums[color] = river.getColorValueSum(cardColor);
+            opponentMaxCounts[color] = maxCount;
+        }
+    }
+
+    /**
+     * Loads the rivers from a search position.
+     *
+     * @param self Index of the player the penalties are for
+     */
+    public void loadRivers(SearchState state, int self) {
+        for (int color = 0; color < NUM_COLORS; color++) {
+            int maxCount = 0;
+            for (int p = 0; p < state.getNumPlayers(); p++) {
+                if (p != self) {
+                    maxCount = Math.max(maxCount, state.getRiverCount(p, color));
+                }
+            }
+            ownCounts[color] = state.getRiverCount(self, color);
+            ownValueSums[color] = state.getRiverValueSum(self, color);
+            opponentMaxCounts[color] = maxCount;
+        }
+    }
+
+    private void resize(int size) {
+        paradeSize = size;
+        words = (size + Long.SIZE - 1) >>> 6;
+        if (colorMasks.length < NUM_COLORS * words) {
+            colorMasks = new long[NUM_COLORS * words];
+            valueAtMostMasks = new long[NUM_VALUES * words];
+            valueBitMasks = new long[VALUE_BITS * words];
+        } else {
+            Arrays.fill(colorMasks, 0, NUM_COLORS * words, 0);
+            Arrays.fill(valueAtMostMasks, 0, NUM_VALUES * words, 0);
+            Arrays.fill(valueBitMasks, 0, VALUE_BITS * words, 0);
+        }
+    }
+
+    private void setPosition(int position, int cardId) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        int color = SearchState.colorOf(cardId);
+        int value = SearchState.valueOf(cardId);
+
+        colorMasks[color * words + word] |= bit;
+        for (int v = value; v < NUM_VALUES; v++) {
+            valueAtMostMasks[v * words + word] |= bit;
+        }
+        for (int b = 0; b < VALUE_BITS; b++) {
+            if ((value & (1 << b)) != 0) {
+                valueBitMasks[b * words + word] |= bit;
+            }
+        }
+    }
+
+    /**
+     * @return the increase in the evaluating player's score if the card were played now
+     */
+    public int evaluate(int cardId) {
+        int playedColor = SearchState.colorOf(cardId);
+        int playedValue = SearchState.valueOf(cardId);
+
+        // Cards that stay in the parade are those within the first `value` after the play,
+        // which is the first value - 1 of the current parade. A played 0 also takes itself.
+        int cut = Math.max(playedValue - 1, 0);
+        int cutWord = cut >>> 6;
+
+        int penalty = 0;
+        lastNewColors = 0;
+        lastContestedColors = 0;
+        for (int color = 0; color < NUM_COLORS; color++) {
+            int takenCount = 0;
+            int takenValueSum = 0;
+            for (int w = cutWord; w < words; w++) {
+                long eligible = w == cutWord ? -1L << cut : -1L;
+                long taken = eligible
+                        & (colorMasks[playedColor * words + w] | valueAtMostMasks[playedValue * words + w])
+                        & colorMasks[color * words + w];
+                if (taken == 0) {
+                    continue;
+                }
+                takenCount += Long.bitCount(taken);
+                for (int b = 0; b < VALUE_BITS; b++) {
+                    takenValueSum += Long.bitCount(taken & valueBitMasks[b * words + w]) << b;
+                }
+            }
+            if (playedValue == 0 && color == playedColor) {
+                takenCount++;
+            }
+            if (takenCount > 0) {
+                int count = ownCounts[color] + takenCount;
+                penalty += colorScore(count, ownValueSums[color] + takenValueSum, color)
+                        - colorScore(ownCounts[color], ownValueSums[color], color);
+                if (ownCounts[color] == 0) {
+                    lastNewColors++;
+                }
+                if (Math.abs(count - opponentMaxCounts[color]) <= 1) {
+                    lastContestedColors++;
+                }
+            }
+        }
+        return penalty;
+    }
+
+    /**
+     * Evaluates several cards at once.
+     *
+     * @param cardIds   The candidate cards
+     * @param count     Number of candidates to read from {@code cardIds}
+     * @param penalties Receives the penalty of each candidate
+     */
+    public void evaluateAll(int[] cardIds, int count, int[] penalties) {
+        for (int i = 0; i < count; i++) {
+            penalties[i] = evaluate(cardIds[i]);
+        }
+    }
+
+    /**
+     * @return how many parade cards the card would take if played now
+     */
+    public int countTaken(int cardId) {
+        int playedColor = SearchState.colorOf(cardId);
+        int playedValue = SearchState.valueOf(cardId);
+        int cut = Math.max(playedValue - 1, 0);
+        int cutWord = cut >>> 6;
+
+        int count = playedValue == 0 ? 1 : 0;
+        for (int w = cutWord; w < words; w++) {
+            long eligible = w == cutWord ? -1L << cut : -1L;
+            count += Long.bitCount(eligible
+                    & (colorMasks[playedColor * words + w] | valueAtMostMasks[playedValue * words + w]));
+        }
+        return count;
+    }
+
+    // Players tied for the most cards of a color all hold the majority
+    private int colorScore(int count, int valueSum, int color) {
+        return count >= opponentMaxCounts[color] ? count : valueSum;
+    }
+
+    /**
+     * @return the number of colors the last evaluated play would add to the river
+     */
+    public int getLastNewColors() {
+        return lastNewColors;
+    }
+
+    /**
+     * @return the number of taken colors in which the last evaluated play would leave the player
+     *         within one card of the leading opponent, where the majority could still swing
+     */
+    public int getLastContestedColors() {
+        return lastContestedColors;
+    }
+
+    public int getParadeSize() {
+        return paradeSize;
+    }
+}
@@ -0,0 +1,206 @@
+package players.computer;
+
+import cards.Card;
+import game.GameState;
+import game.SearchState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import players.Player;
+
+/**
+ * A suggestion for a person's next play, worked out in the background while they think.
+ *
+ * The search starts when the turn does and runs in short {@link InformationSetSearch} slices until
+ * the turn ends and the hint is cancelled. The visits of every finished slice are added up, so the
+ * recommendation improves the longer the player thinks, and asking for it returns the best answer
+ * so far within {@link #RESPONSE_MILLIS}. Along with the card, the hint reports the score the
+ * search expects the player to finish with after playing it. Until the first slice finishes the
+ * card that adds the least to the player's score right now is recommended, and only that
+ * immediate penalty is known.
+ *
+ * Hints run on a small pool of low-priority threads with a bounded queue, shared by every table on
+ * the server. When the pool is full a hint simply stays with the quick recommendation, so hints
+ * never hold up bots or other games.
+ */
+public class MoveHint {
+    public static final long RESPONSE_MILLIS = 100;
+    private static final long SLICE_MILLIS = 50;
+    // A hint whose turn ended without cancelling it gives up its thread after this long
+    private static final long MAX_SEARCH_MILLIS = 60_000;
+
+    private static final int NUM_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+    private static final int MAX_QUEUED_HINTS = 16;
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(NUM_THREADS, NUM_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_HINTS), runnable -> {
+                Thread thread = new Thread(runnable, "move-hint");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+
+    private final List<Card> candidates = new ArrayList<>();
+    private final int[] penalties;
+    private final int quickPick;
+    // Totals over every finished slice, replaced wholesale so readers never see a partial sum
+    private volatile Totals totals;
+    private final CountDownLatch firstSlice = new CountDownLatch(1);
+    private volatile boolean cancelled;
+    private Future<?> task;
+
+    private MoveHint(List<Card> hand, int[] penalties, int quickPick) {
+        this.candidates.addAll(hand);
+        this.penalties = penalties;
+        this.quickPick = quickPick;
+    }
+
+    /**
+     * Starts working out the player's next play. Must be called on the game thread, before the
+     * position changes; the search only uses its own copy.
+     *
+     * @return the hint, or null if the player isn't seated in the game or has no cards
+     */
+    public static MoveHint start(GameState gameState, Player player) {
+        int seat = gameState.getPlayers().indexOf(player);
+        if (seat < 0 || player.getHand().isEmpty()) {
+            return null;
+        }
+
+        MoveEvaluator evaluator = new MoveEvaluator();
+        evaluator.loadParade(gameState.getParade());
+        evaluator.loadRivers(gameState.getPlayers(), seat);
+        List<Card> hand = player.getHand();
+        int[] penalties = new int[hand.size()];
+        int quickPick = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            penalties[i] = evaluator.evaluate(hand.get(i).getId());
+            if (penalties[i] < penalties[quickPick]
+                    || (penalties[i] == penalties[quickPick] && hand.get(i).getValue() > hand.get(quickPick).getValue())) {
+                quickPick = i;
+            }
+        }
+        MoveHint hint = new MoveHint(hand, penalties, quickPick);
+
+        SearchState.Phase phase = gameState.isGameOver() ? SearchState.Phase.FINAL : SearchState.Phase.PLAY;
+        SearchState root = gameState.toSearchState(seat, phase, 0);
+        long seed = new SplittableRandom().nextLong();
+        try {
+            hint.task = POOL.submit(() -> hint.search(root, seed));
+        } catch (RejectedExecutionException e) {
+            // Too many hints at once; this one keeps the quick recommendation
+            hint.firstSlice.countDown();
+        }
+        return hint;
+    }
+
+    // Root visits and the searching player's summed final scores, both indexed by card id
+    private static final class Totals {
+        private final int[] visits;
+        private final double[] scoreSums;
+
+        private Totals(int[] visits, double[] scoreSums) {
+            this.visits = visits;
+            this.scoreSums = scoreSums;
+        }
+    }
+
+    private void search(SearchState root, long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        int[] total = new int[Card.NUM_CARDS];
+        double[] scoreSums = new double[Card.NUM_CARDS];
+        long giveUp = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_SEARCH_MILLIS);
+        try {
+            while (!cancelled && !Thread.currentThread().isInterrupted() && System.nanoTime() < giveUp) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SLICE_MILLIS);
+                int[] slice = InformationSetSearch.searchOnCallingThread(root, deadline, seeds.nextLong(), scoreSums);
+                for (int id = 0; id < total.length; id++) {
+                    total[id] += slice[id];
+                }
+                totals = new Totals(total.clone(), scoreSums.clone());
+                firstSlice.countDown();
+            }
+        } finally {
+            firstSlice.countDown();
+        }
+    }
+
+    /**
+     * Stops the search. The hint can still be read afterwards.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * @return the recommended card, waiting briefly for the search's first answer if it has none yet
+     */
+    public Card getCard() {
+        return candidates.get(getIndex());
+    }
+
+    /**
+     * @return how many points the recommended card would add to the player's score right now
+     */
+    public int getPenalty() {
+        return penalties[getIndex()];
+    }
+
+    /**
+     * @return the final score the search expects after the recommended card, or NaN before the
+     *         search has an answer
+     */
+    public double getExpectedScore() {
+        return expectedScore(getIndex());
+    }
+
+    /**
+     * @return the recommendation as a message for the player
+     */
+    public String describe() {
+        int index = getIndex();
+        int penalty = penalties[index];
+        double expected = expectedScore(index);
+        return "💡 Hint: play " + candidates.get(index) + " at position " + index
+                + (penalty == 0 ? ", which adds nothing to your score now" : ", which adds " + penalty + " to your score now")
+                + (Double.isNaN(expected) ? "." : String.format("; expect to finish with about %.1f points.", expected));
+    }
+
+    private double expectedScore(int index) {
+        Totals current = totals;
+        int id = candidates.get(index).getId();
+        if (current == null || current.visits[id] == 0) {
+            return Double.NaN;
+        }
+        return current.scoreSums[id] / current.visits[id];
+    }
+
+    private int getIndex() {
+        try {
+            // Half the budget for the first slice, leaving the rest as headroom
+            firstSlice.await(RESPONSE_MILLIS / 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Totals current = totals;
+        if (current == null) {
+            return quickPick;
+        }
+        int[] counts = current.visits;
+        int best = quickPick;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (counts[candidates.get(i).getId()] > counts[candidates.get(best).getId()]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
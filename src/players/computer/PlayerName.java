@@ -1,7 +1,7 @@
 package players.computer;
 
-// Note: The game will only support up to EIGHT players. 
-// Hence, only 8 available player names.
+// Note: Regular tables have up to EIGHT players, hence 8 player names.
+// Mega Parade tables reuse them with a number added (see PlayerNameManager).
 
 public enum PlayerName {
     ALICE("Alice"),
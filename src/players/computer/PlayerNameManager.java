@@ -5,10 +5,11 @@ import java.util.Collections;
 import java.util.List;
 
 // This class's function is to ensure that no two players obtain the same name.
-// It also ensures that there is a maximum of 8 players.
+// Once all 8 names are taken (only at Mega Parade tables) they are handed out again with a number, e.g. "Alice 2".
 
 public class PlayerNameManager {
     private List<PlayerName> availableNames;
+    private int assignedCount;
 
     public PlayerNameManager() {
         availableNames = new ArrayList<>();
@@ -22,8 +23,11 @@ public class PlayerNameManager {
         Collections.shuffle(availableNames);
     }
 
-    public PlayerName assignName() {
-        // Remove and return the first available name.
-        return availableNames.remove(0);
+    public String assignDisplayName() {
+        // Take the names in shuffled order, starting over with a number once every name is used.
+        PlayerName name = availableNames.get(assignedCount % availableNames.size());
+        int round = assignedCount / availableNames.size();
+        assignedCount++;
+        return round == 0 ? name.getDisplayName() : name.getDisplayName() + " " + (round + 1);
     }
 }
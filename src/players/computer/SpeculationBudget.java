@@ -0,0 +1,74 @@
+package players.computer;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One game's share of the background threads that search bot replies ahead of time (see
+ * {@link players.SpeculativePlayer}).
+ *
+ * Every game gets its own budget, so a server with many rooms never queues one table's searches
+ * behind another's: a game runs at most one speculative search at a time and keeps the rest in
+ * its own bounded queue. Only the running search of each game competes for the shared threads,
+ * which are few and run at the lowest priority, so real turns in other rooms always come first.
+ * Tasks cancelled while queued are dropped without running.
+ */
+public final class SpeculationBudget implements Executor {
+    private static final int NUM_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+    // More than any hand, so a whole round of replies always fits
+    private static final int MAX_QUEUED = 32;
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(NUM_THREADS, NUM_THREADS,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "bot-speculation");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+
+    // Guarded by this
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private boolean running;
+
+    /**
+     * Queues a task behind this game's other speculative work.
+     *
+     * @throws RejectedExecutionException if the game already has too much queued
+     */
+    @Override
+    public synchronized void execute(Runnable task) {
+        if (queued.size() >= MAX_QUEUED) {
+            throw new RejectedExecutionException("Too many speculative searches queued");
+        }
+        queued.add(task);
+        if (!running) {
+            runNext();
+        }
+    }
+
+    // Hands the next live task to the shared threads; called with the lock held
+    private void runNext() {
+        Runnable task;
+        do {
+            task = queued.poll();
+        } while (task instanceof Future && ((Future<?>) task).isDone());
+        running = task != null;
+        if (task != null) {
+            Runnable next = task;
+            POOL.execute(() -> {
+                try {
+                    next.run();
+                } finally {
+                    synchronized (this) {
+                        runNext();
+                    }
+                }
+            });
+        }
+    }
+}
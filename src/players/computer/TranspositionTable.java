@@ -0,0 +1,160 @@
+package players.computer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded transposition table of search results keyed by {@link game.SearchState#getHash()},
+ * safe to share between search threads.
+ *
+ * Entries live in primitive arrays indexed by the low bits of the hash, so the table never
+ * allocates after construction. Each entry holds one value per player (max-n search needs the
+ * whole score vector), the depth it was searched to and the best move found. Writes and reads
+ * lock one of a fixed number of stripes, so threads only contend when they touch the same
+ * region of the table. A slot keeps its deeper result, whether the new one is for the same
+ * position or another that maps to the slot, unless the stored entry is left over from an
+ * earlier search; {@link #newSearch()} starts a new one.
+ */
+public class TranspositionTable {
+    private static final int NUM_STRIPES = 64;
+
+    private final int mask;
+    private final int valuesPerEntry;
+    private final Object[] stripes;
+
+    private final long[] keys;
+    private final boolean[] occupied;
+    private final int[] depths;
+    private final int[] generations;
+    private final int[] bestMoves;
+    private final int[] values;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile int generation;
+
+    /**
+     * @param minCapacity    Minimum number of entries; rounded up to a power of two
+     * @param valuesPerEntry Number of values stored with each entry, usually the number of players
+     */
+    public TranspositionTable(int minCapacity, int valuesPerEntry) {
+        if (minCapacity <= 0 || valuesPerEntry <= 0) {
+            throw new IllegalArgumentException("Capacity and values per entry must be positive");
+        }
+        int capacity = Integer.highestOneBit(minCapacity);
+        if (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        this.valuesPerEntry = valuesPerEntry;
+
+        this.stripes = new Object[NUM_STRIPES];
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+
+        this.keys = new long[capacity];
+        this.occupied = new boolean[capacity];
+        this.depths = new int[capacity];
+        this.generations = new int[capacity];
+        this.bestMoves = new int[capacity];
+        this.values = new int[capacity * valuesPerEntry];
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private Object stripe(int index) {
+        return stripes[index & (NUM_STRIPES - 1)];
+    }
+
+    /**
+     * Marks the entries stored so far as belonging to an earlier search. They can still be probed,
+     * but any new result may replace them.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * Records a search result. An entry stored during the current search, for this position or
+     * another, is only replaced if this result was searched at least as deep.
+     *
+     * @param key      Hash of the position
+     * @param depth    Remaining depth the result was searched to
+     * @param bestMove Best move found, or -1 if none
+     * @param result   Values to store; only the first {@code valuesPerEntry} are used
+     */
+    public void store(long key, int depth, int bestMove, int[] result) {
+        int index = index(key);
+        synchronized (stripe(index)) {
+            int current = generation;
+            if (occupied[index] && generations[index] == current && depths[index] > depth) {
+                return;
+            }
+            occupied[index] = true;
+            keys[index] = key;
+            depths[index] = depth;
+            generations[index] = current;
+            bestMoves[index] = bestMove;
+            System.arraycopy(result, 0, values, index * valuesPerEntry, valuesPerEntry);
+        }
+    }
+
+    /**
+     * Looks up a result searched to at least the given depth.
+     *
+     * @param key      Hash of the position
+     * @param minDepth Minimum remaining depth the stored result must have been searched to
+     * @param out      Receives the stored values if found
+     * @return whether a usable entry was found
+     */
+    public boolean probe(long key, int minDepth, int[] out) {
+        int index = index(key);
+        synchronized (stripe(index)) {
+            if (!occupied[index] || keys[index] != key || depths[index] < minDepth) {
+                misses.increment();
+                return false;
+            }
+            System.arraycopy(values, index * valuesPerEntry, out, 0, valuesPerEntry);
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * @return the best move stored for the position at any depth, or -1 if there is none.
+     *         Useful for trying that move first.
+     */
+    public int getBestMove(long key) {
+        int index = index(key);
+        synchronized (stripe(index)) {
+            return occupied[index] && keys[index] == key ? bestMoves[index] : -1;
+        }
+    }
+
+    public void clear() {
+        for (int s = 0; s < NUM_STRIPES; s++) {
+            synchronized (stripes[s]) {
+                for (int i = s; i <= mask; i += NUM_STRIPES) {
+                    occupied[i] = false;
+                }
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
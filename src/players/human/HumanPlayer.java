@@ -2,6 +2,8 @@ package players.human;
 
 import cards.*;
 import players.AbstractPlayer;
+import players.computer.MoveHint;
+import constants.GameplayConstants;
 import constants.UIConstants;
 import account.Account;
 import java.util.ArrayList;
@@ -18,6 +20,8 @@ public class HumanPlayer extends AbstractPlayer {
     private String name;
     private transient Session session;
     private Scanner sc;
+    // Suggestion for the current turn, if one is being worked out
+    private transient MoveHint hint;
 
     // New field to hold the associated Account
     private Account account;
@@ -63,6 +67,10 @@ public class HumanPlayer extends AbstractPlayer {
             try {
                 if (sc.hasNextLine()) {
                     String input = sc.nextLine();
+                    if (hint != null && input.trim().equalsIgnoreCase(GameplayConstants.HINT_COMMAND)) {
+                        System.out.print(hint.describe() + UIConstants.ConsoleInput);
+                        continue;
+                    }
                     try {
                         index = Integer.parseInt(input);
                         if (index >= 0 && index < hand.size()) {
@@ -161,7 +169,8 @@ public class HumanPlayer extends AbstractPlayer {
             }
         }
 
-        String prompt = displayName + ", enter the position of the card you want to " + action + " (0 - " + (hand.size() - 1) +")" + UIConstants.ConsoleInput;
+        String prompt = displayName + ", enter the position of the card you want to " + action + " (0 - " + (hand.size() - 1) +")"
+                + (hint != null ? " or \"" + GameplayConstants.HINT_COMMAND + "\" for a suggestion" : "") + UIConstants.ConsoleInput;
 
         // Only print directly to console in non-multiplayer contexts
         // In multiplayer mode, the Game class will handle communication with clients
@@ -212,5 +221,14 @@ public class HumanPlayer extends AbstractPlayer {
     public void setSession(Session newSession) {
         this.session = newSession;
     }
+
+    public MoveHint getHint() {
+        return hint;
+    }
+
+    // Set by the TurnManager for the length of this player's turn
+    public void setHint(MoveHint hint) {
+        this.hint = hint;
+    }
     
 }
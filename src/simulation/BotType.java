@@ -0,0 +1,78 @@
+package simulation;
+
+import cards.Card;
+import players.Player;
+import players.computer.BeginnerComputerPlayer;
+import players.computer.BotPacing;
+import players.computer.IntermediateComputerPlayer;
+import players.computer.ExpertComputerPlayer;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * The computer players that can take a seat in a simulated tournament.
+ * New bots only need a constant here to become available to the {@link TournamentRunner}.
+ */
+public enum BotType {
+    BEGINNER("Beginner"),
+    INTERMEDIATE("Intermediate"),
+    EXPERT("Expert");
+
+    // Per-move search time of simulated experts; shorter than in live games so tournaments finish
+    private static final int EXPERT_SEARCH_MILLIS = 50;
+
+    private final String DISPLAYNAME;
+
+    BotType(String displayName) {
+        this.DISPLAYNAME = displayName;
+    }
+
+    public String getDisplayName() {
+        return DISPLAYNAME;
+    }
+
+    /**
+     * Creates a bot with an empty hand and no pacing delay.
+     *
+     * @param name The bot's name
+     * @return the new bot
+     */
+    public Player create(String name) {
+        return create(name, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a bot with an empty hand and no pacing delay whose random choices are
+     * determined by the seed.
+     *
+     * @param name The bot's name
+     * @param seed Seed for any randomness the bot uses
+     * @return the new bot
+     */
+    public Player create(String name, long seed) {
+        switch (this) {
+            case BEGINNER:
+                return new BeginnerComputerPlayer(new ArrayList<Card>(), name, BotPacing.NONE, seed);
+            case INTERMEDIATE:
+                return new IntermediateComputerPlayer(new ArrayList<Card>(), name, BotPacing.NONE, seed);
+            case EXPERT:
+                return new ExpertComputerPlayer(new ArrayList<Card>(), name, BotPacing.NONE, seed, EXPERT_SEARCH_MILLIS);
+            default:
+                throw new IllegalArgumentException("Unexpected bot type: " + this);
+        }
+    }
+
+    /**
+     * Parses a bot type from its name or difficulty level ("beginner", "2", ...).
+     */
+    public static BotType parse(String text) {
+        String trimmed = text.trim();
+        for (BotType type : values()) {
+            if (type.name().equalsIgnoreCase(trimmed) || String.valueOf(type.ordinal() + 1).equals(trimmed)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bot type: " + text);
+    }
+}
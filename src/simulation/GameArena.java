@@ -0,0 +1,530 @@
+package simulation;
+
+import cards.Card;
+import cards.Deck;
+import constants.GameplayConstants;
+import exceptions.InvalidPlayerCountException;
+import game.SearchState;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays batches of games between {@link BotType#BEGINNER} bots with every game's state held off
+ * the heap, for balancing studies that need hundreds of millions of games.
+ *
+ * A batch is stored structure-of-arrays in one direct {@link ByteBuffer}: every game's deck sits
+ * in one region, every parade in the next, then the hands, river counts and value sums, the
+ * random number generator states and the turn bookkeeping, each indexed by game (and seat). The
+ * games of a batch advance together one action at a time until all of them are over. Playing a
+ * game creates no objects, so the garbage collector has nothing to do however many are played.
+ *
+ * The rules and turn order are those of {@link game.HeadlessGame}, and the deck shuffle and the
+ * bots' choices repeat {@link Deck} and {@link players.computer.BeginnerComputerPlayer} step for
+ * step, so every game ends with exactly the scores the {@link TournamentRunner} reports for the
+ * same tournament seed and game index. Other bots keep state and search, and are only played
+ * by the {@link TournamentRunner}.
+ *
+ * Usage: {@code java simulation.GameArena <numGames> beginner beginner [beginner...]
+ * [--seed <seed>] [--verify <games>]}. {@code --verify} replays the first games through the
+ * {@link TournamentRunner} and checks the scores match.
+ */
+public class GameArena {
+    // Games played together in one arena
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final int NUM_COLORS = GameplayConstants.NUM_DIFF_COLORS_OF_CARDS;
+    private static final int HAND_SIZE = GameplayConstants.MAX_HAND_SIZE;
+
+    // Where each game is in the turn order of HeadlessGame
+    private static final int STAGE_PLAY = 0;
+    private static final int STAGE_FINAL = 1;
+    private static final int STAGE_DISCARD = 2;
+    private static final int STAGE_DONE = 3;
+
+    // SplittableRandom and java.util.Random constants, so seeds give the same numbers off the heap
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long LCG_MULTIPLIER = 0x5DEECE66DL;
+    private static final long LCG_ADDEND = 0xBL;
+    private static final long LCG_MASK = (1L << 48) - 1;
+
+    private final int numPlayers;
+    private final int capacity;
+    private final int deckLength;
+    private final ByteBuffer memory;
+
+    // Region offsets in bytes; each region holds `capacity` games' worth of one field
+    private final int botRandoms;   // long per seat
+    private final int scores;       // int per seat
+    private final int deckCursors;  // int per game
+    private final int paradeSizes;  // int per game
+    private final int turns;        // int per game: the seat to act
+    private final int stages;       // int per game
+    private final int discards;     // int per game: discards made by the current seat
+    private final int riverSums;    // short per seat and color
+    private final int riverCounts;  // byte per seat and color
+    private final int handSizes;    // byte per seat
+    private final int hands;        // HAND_SIZE bytes per seat, in hand order
+    private final int decks;        // deckLength bytes per game, in draw order
+    private final int parades;      // deckLength bytes per game, back of the parade first
+
+    private final int[] gameScores;
+
+    /**
+     * @param numPlayers Seats at every table
+     * @param capacity   Games played together in one batch
+     */
+    public GameArena(int numPlayers, int capacity) {
+        if (numPlayers < GameplayConstants.MIN_NUM_PLAYERS || numPlayers > GameplayConstants.MAX_MEGA_NUM_PLAYERS) {
+            throw new InvalidPlayerCountException("An arena needs between " + GameplayConstants.MIN_NUM_PLAYERS
+                    + " and " + GameplayConstants.MAX_MEGA_NUM_PLAYERS + " players, got " + numPlayers);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("An arena needs room for at least one game, got " + capacity);
+        }
+        this.numPlayers = numPlayers;
+        this.capacity = capacity;
+        this.deckLength = Card.NUM_CARDS * Deck.decksFor(numPlayers);
+        this.gameScores = new int[numPlayers];
+
+        // Widest fields first so every region stays aligned
+        int seats = capacity * numPlayers;
+        int offset = 0;
+        botRandoms = offset;
+        offset += seats * Long.BYTES;
+        scores = offset;
+        offset += seats * Integer.BYTES;
+        deckCursors = offset;
+        offset += capacity * Integer.BYTES;
+        paradeSizes = offset;
+        offset += capacity * Integer.BYTES;
+        turns = offset;
+        offset += capacity * Integer.BYTES;
+        stages = offset;
+        offset += capacity * Integer.BYTES;
+        discards = offset;
+        offset += capacity * Integer.BYTES;
+        riverSums = offset;
+        offset += seats * NUM_COLORS * Short.BYTES;
+        riverCounts = offset;
+        offset += seats * NUM_COLORS;
+        handSizes = offset;
+        offset += seats;
+        hands = offset;
+        offset += seats * HAND_SIZE;
+        decks = offset;
+        offset += capacity * deckLength;
+        parades = offset;
+        offset += capacity * deckLength;
+
+        this.memory = ByteBuffer.allocateDirect(offset).order(ByteOrder.nativeOrder());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Plays a run of a tournament's games and records them.
+     *
+     * @param tournamentSeed The seed every game's seed is derived from, as in {@link TournamentRunner#gameSeed}
+     * @param firstGame      Index of the first game to play
+     * @param count          Number of games, at most the arena's capacity
+     * @param stats          Receives every game's scores
+     */
+    public void playBatch(long tournamentSeed, long firstGame, int count, TournamentStats stats) {
+        if (count > capacity) {
+            throw new IllegalArgumentException("The arena holds " + capacity + " games, got " + count);
+        }
+        for (int game = 0; game < count; game++) {
+            deal(game, gameSeed(tournamentSeed, firstGame + game));
+        }
+
+        int active = count;
+        while (active > 0) {
+            active = 0;
+            for (int game = 0; game < count; game++) {
+                if (memory.getInt(stages + game * Integer.BYTES) != STAGE_DONE) {
+                    step(game);
+                    active++;
+                }
+            }
+        }
+
+        for (int game = 0; game < count; game++) {
+            for (int seat = 0; seat < numPlayers; seat++) {
+                gameScores[seat] = getScore(game, seat);
+            }
+            stats.recordGame(gameScores);
+        }
+    }
+
+    /**
+     * @return the final score of a seat in a game of the last batch
+     */
+    public int getScore(int game, int seat) {
+        return memory.getInt(scores + (game * numPlayers + seat) * Integer.BYTES);
+    }
+
+    /**
+     * Same value as {@link TournamentRunner#gameSeed}, without allocating a generator.
+     */
+    static long gameSeed(long tournamentSeed, long gameIndex) {
+        return mix64(tournamentSeed + gameIndex * GOLDEN_GAMMA + GOLDEN_GAMMA);
+    }
+
+    // Sets up a game the way TournamentRunner.playGame and HeadlessGame.play do
+    private void deal(int game, long seed) {
+        long random = seed;
+        long deckSeed = mix64(random += GOLDEN_GAMMA);
+        for (int seat = 0; seat < numPlayers; seat++) {
+            long botSeed = mix64(random += GOLDEN_GAMMA);
+            memory.putLong(botRandoms + (game * numPlayers + seat) * Long.BYTES, (botSeed ^ LCG_MULTIPLIER) & LCG_MASK);
+        }
+
+        // Deck(deckCount, seed): ordered copies, then a Fisher-Yates shuffle
+        int deck = decks + game * deckLength;
+        for (int i = 0; i < deckLength; i++) {
+            memory.put(deck + i, (byte) (i % Card.NUM_CARDS));
+        }
+        long shuffle = deckSeed;
+        for (int i = deckLength - 1; i > 0; i--) {
+            int bound = i + 1;
+            int m = bound - 1;
+            int r = mix32(shuffle += GOLDEN_GAMMA);
+            if ((bound & m) == 0) {
+                r &= m;
+            } else {
+                for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(shuffle += GOLDEN_GAMMA) >>> 1) {
+                }
+            }
+            byte tmp = memory.get(deck + i);
+            memory.put(deck + i, memory.get(deck + r));
+            memory.put(deck + r, tmp);
+        }
+
+        int cursor = 0;
+        for (int seat = 0; seat < numPlayers; seat++) {
+            int seatIndex = game * numPlayers + seat;
+            for (int i = 0; i < GameplayConstants.INITIAL_HAND_SIZE; i++) {
+                memory.put(hands + seatIndex * HAND_SIZE + i, memory.get(deck + cursor++));
+            }
+            memory.put(handSizes + seatIndex, (byte) GameplayConstants.INITIAL_HAND_SIZE);
+            for (int color = 0; color < NUM_COLORS; color++) {
+                memory.put(riverCounts + seatIndex * NUM_COLORS + color, (byte) 0);
+                memory.putShort(riverSums + (seatIndex * NUM_COLORS + color) * Short.BYTES, (short) 0);
+            }
+        }
+        // The parade is stored back first, so the first card drawn ends up at the front
+        int parade = parades + game * deckLength;
+        int paradeLength = GameplayConstants.INITIAL_PARADE_LENGTH;
+        for (int i = 0; i < paradeLength; i++) {
+            memory.put(parade + paradeLength - 1 - i, memory.get(deck + cursor++));
+        }
+
+        memory.putInt(deckCursors + game * Integer.BYTES, cursor);
+        memory.putInt(paradeSizes + game * Integer.BYTES, paradeLength);
+        memory.putInt(turns + game * Integer.BYTES, 0);
+        memory.putInt(stages + game * Integer.BYTES, STAGE_PLAY);
+        memory.putInt(discards + game * Integer.BYTES, 0);
+    }
+
+    // Takes the next action of a game: a play, a final play or a discard
+    private void step(int game) {
+        int turnAt = turns + game * Integer.BYTES;
+        int stageAt = stages + game * Integer.BYTES;
+        int seat = memory.getInt(turnAt);
+        int seatIndex = game * numPlayers + seat;
+
+        switch (memory.getInt(stageAt)) {
+            case STAGE_PLAY: {
+                int card = removeFromHand(seatIndex, nextBotInt(seatIndex, memory.get(handSizes + seatIndex)));
+                boolean gameOver = play(game, seatIndex, card);
+
+                int cursorAt = deckCursors + game * Integer.BYTES;
+                int cursor = memory.getInt(cursorAt);
+                if (cursor == deckLength) {
+                    gameOver = true;
+                } else {
+                    int handSize = memory.get(handSizes + seatIndex);
+                    memory.put(hands + seatIndex * HAND_SIZE + handSize, memory.get(decks + game * deckLength + cursor));
+                    memory.put(handSizes + seatIndex, (byte) (handSize + 1));
+                    memory.putInt(cursorAt, cursor + 1);
+                }
+
+                if (gameOver) {
+                    // Every player but the last gets one final turn, starting from the first seat
+                    memory.putInt(cursorAt, deckLength);
+                    memory.putInt(stageAt, STAGE_FINAL);
+                    memory.putInt(turnAt, 0);
+                } else {
+                    memory.putInt(turnAt, (seat + 1) % numPlayers);
+                }
+                break;
+            }
+            case STAGE_FINAL: {
+                int card = removeFromHand(seatIndex, nextBotInt(seatIndex, memory.get(handSizes + seatIndex)));
+                play(game, seatIndex, card);
+                if (seat + 1 == numPlayers - 1) {
+                    memory.putInt(stageAt, STAGE_DISCARD);
+                    memory.putInt(turnAt, 0);
+                } else {
+                    memory.putInt(turnAt, seat + 1);
+                }
+                break;
+            }
+            case STAGE_DISCARD: {
+                removeFromHand(seatIndex, nextBotInt(seatIndex, memory.get(handSizes + seatIndex)));
+                int discardsAt = discards + game * Integer.BYTES;
+                int made = memory.getInt(discardsAt) + 1;
+                if (made < GameplayConstants.FINAL_DISCARD_COUNT) {
+                    memory.putInt(discardsAt, made);
+                    break;
+                }
+
+                // The rest of the hand joins the river
+                int handSize = memory.get(handSizes + seatIndex);
+                for (int i = 0; i < handSize; i++) {
+                    addToRiver(seatIndex, memory.get(hands + seatIndex * HAND_SIZE + i));
+                }
+                memory.put(handSizes + seatIndex, (byte) 0);
+                memory.putInt(discardsAt, 0);
+                if (seat + 1 == numPlayers) {
+                    score(game);
+                    memory.putInt(stageAt, STAGE_DONE);
+                } else {
+                    memory.putInt(turnAt, seat + 1);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Game " + game + " is already over");
+        }
+    }
+
+    /**
+     * Adds a card to the front of the parade and moves the cards it captures into the river,
+     * like {@link cards.Parade#removeCaptured}.
+     *
+     * @return whether the river now holds every color
+     */
+    private boolean play(int game, int seatIndex, int card) {
+        int parade = parades + game * deckLength;
+        int sizeAt = paradeSizes + game * Integer.BYTES;
+        int size = memory.getInt(sizeAt);
+        memory.put(parade + size++, (byte) card);
+
+        int playedColor = SearchState.colorOf(card);
+        int playedValue = SearchState.valueOf(card);
+        // The front `value` cards are safe; they are the last ones stored
+        int safe = Math.min(playedValue, size);
+        int write = 0;
+        for (int read = 0; read < size - safe; read++) {
+            byte id = memory.get(parade + read);
+            if (SearchState.colorOf(id) == playedColor || SearchState.valueOf(id) <= playedValue) {
+                addToRiver(seatIndex, id);
+            } else {
+                memory.put(parade + write++, id);
+            }
+        }
+        for (int read = size - safe; read < size; read++) {
+            memory.put(parade + write++, memory.get(parade + read));
+        }
+        memory.putInt(sizeAt, write);
+
+        for (int color = 0; color < NUM_COLORS; color++) {
+            if (memory.get(riverCounts + seatIndex * NUM_COLORS + color) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToRiver(int seatIndex, int card) {
+        int color = SearchState.colorOf(card);
+        int countAt = riverCounts + seatIndex * NUM_COLORS + color;
+        int sumAt = riverSums + (seatIndex * NUM_COLORS + color) * Short.BYTES;
+        memory.put(countAt, (byte) (memory.get(countAt) + 1));
+        memory.putShort(sumAt, (short) (memory.getShort(sumAt) + SearchState.valueOf(card)));
+    }
+
+    // Removes the card at a hand position, keeping the order of the rest like ArrayList.remove
+    private int removeFromHand(int seatIndex, int index) {
+        int hand = hands + seatIndex * HAND_SIZE;
+        int handSize = memory.get(handSizes + seatIndex);
+        int card = memory.get(hand + index);
+        for (int i = index; i < handSize - 1; i++) {
+            memory.put(hand + i, memory.get(hand + i + 1));
+        }
+        memory.put(handSizes + seatIndex, (byte) (handSize - 1));
+        return card;
+    }
+
+    // Players tied for the most cards of a color all score those cards at 1 point each
+    private void score(int game) {
+        int first = game * numPlayers;
+        for (int seat = 0; seat < numPlayers; seat++) {
+            memory.putInt(scores + (first + seat) * Integer.BYTES, 0);
+        }
+        for (int color = 0; color < NUM_COLORS; color++) {
+            int maxCount = 0;
+            for (int seat = 0; seat < numPlayers; seat++) {
+                maxCount = Math.max(maxCount, memory.get(riverCounts + (first + seat) * NUM_COLORS + color));
+            }
+            for (int seat = 0; seat < numPlayers; seat++) {
+                int seatIndex = first + seat;
+                int count = memory.get(riverCounts + seatIndex * NUM_COLORS + color);
+                int points = count == maxCount ? count : memory.getShort(riverSums + (seatIndex * NUM_COLORS + color) * Short.BYTES);
+                int scoreAt = scores + seatIndex * Integer.BYTES;
+                memory.putInt(scoreAt, memory.getInt(scoreAt) + points);
+            }
+        }
+    }
+
+    // java.util.Random.nextInt(bound) on the seat's stored generator
+    private int nextBotInt(int seatIndex, int bound) {
+        int at = botRandoms + seatIndex * Long.BYTES;
+        long state = memory.getLong(at);
+        state = (state * LCG_MULTIPLIER + LCG_ADDEND) & LCG_MASK;
+        int r = (int) (state >>> 17);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            r = (int) ((bound * (long) r) >> 31);
+        } else {
+            for (int u = r; u - (r = u % bound) + m < 0; ) {
+                state = (state * LCG_MULTIPLIER + LCG_ADDEND) & LCG_MASK;
+                u = (int) (state >>> 17);
+            }
+        }
+        memory.putLong(at, state);
+        return r;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    /**
+     * Plays a tournament on the pool, one arena per worker thread. Workers take batches of
+     * consecutive games until none are left; results depend only on the seed.
+     */
+    public static TournamentStats run(int numPlayers, long numGames, int batchSize, ForkJoinPool pool, long seed) {
+        AtomicLong nextGame = new AtomicLong();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            Worker worker = new Worker(numPlayers, numGames, batchSize, seed, nextGame);
+            workers.add(worker);
+            pool.execute(worker);
+        }
+        TournamentStats stats = new TournamentStats(numPlayers);
+        for (Worker worker : workers) {
+            stats.merge(worker.join());
+        }
+        return stats;
+    }
+
+    private static class Worker extends RecursiveTask<TournamentStats> {
+        private final int numPlayers;
+        private final long numGames;
+        private final int batchSize;
+        private final long seed;
+        private final AtomicLong nextGame;
+
+        Worker(int numPlayers, long numGames, int batchSize, long seed, AtomicLong nextGame) {
+            this.numPlayers = numPlayers;
+            this.numGames = numGames;
+            this.batchSize = batchSize;
+            this.seed = seed;
+            this.nextGame = nextGame;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            TournamentStats stats = new TournamentStats(numPlayers);
+            GameArena arena = new GameArena(numPlayers, batchSize);
+            long first;
+            while ((first = nextGame.getAndAdd(batchSize)) < numGames) {
+                arena.playBatch(seed, first, (int) Math.min(batchSize, numGames - first), stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Replays games through the object-based {@link TournamentRunner} and checks that every
+     * seat's score matches the arena's.
+     *
+     * @throws IllegalStateException at the first game that differs
+     */
+    public static void verify(List<BotType> lineup, int numGames, long seed) {
+        TournamentRunner runner = new TournamentRunner(lineup);
+        GameArena arena = new GameArena(lineup.size(), Math.min(numGames, DEFAULT_BATCH_SIZE));
+        TournamentStats ignored = new TournamentStats(lineup.size());
+        for (int first = 0; first < numGames; first += arena.getCapacity()) {
+            int count = Math.min(arena.getCapacity(), numGames - first);
+            arena.playBatch(seed, first, count, ignored);
+            for (int game = 0; game < count; game++) {
+                int[] expected = runner.playGame(TournamentRunner.gameSeed(seed, first + game));
+                for (int seat = 0; seat < expected.length; seat++) {
+                    if (arena.getScore(game, seat) != expected[seat]) {
+                        throw new IllegalStateException("Game " + (first + game) + " differs at seat " + (seat + 1)
+                                + ": arena scored " + arena.getScore(game, seat) + ", object engine " + expected[seat]);
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: GameArena <numGames> beginner beginner [beginner...] [--seed <seed>] [--verify <games>]");
+            return;
+        }
+
+        long numGames = Long.parseLong(args[0]);
+        long seed = new SplittableRandom().nextLong();
+        int verifyGames = 0;
+        List<BotType> lineup = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--verify") && i + 1 < args.length) {
+                verifyGames = Integer.parseInt(args[++i]);
+            } else {
+                BotType bot = BotType.parse(args[i]);
+                if (bot != BotType.BEGINNER) {
+                    throw new IllegalArgumentException("The arena only plays " + BotType.BEGINNER.getDisplayName()
+                            + " bots; use TournamentRunner for " + bot.getDisplayName());
+                }
+                lineup.add(bot);
+            }
+        }
+
+        TournamentRunner runner = new TournamentRunner(lineup);
+        if (verifyGames > 0) {
+            verify(lineup, verifyGames, seed);
+            System.out.println("The first " + verifyGames + " games match the object engine.");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        System.out.println("Running " + numGames + " games in off-heap arenas on " + pool.getParallelism()
+                + " worker threads (seed " + seed + ")...");
+
+        long start = System.nanoTime();
+        TournamentStats stats = run(lineup.size(), numGames, DEFAULT_BATCH_SIZE, pool, seed);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.print(stats.formatReport(runner.getSeatNames(), elapsed));
+    }
+}
@@ -0,0 +1,154 @@
+package simulation;
+
+import cards.Deck;
+import constants.GameplayConstants;
+import exceptions.InvalidPlayerCountException;
+import game.HeadlessGame;
+import players.Player;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many complete games between a fixed lineup of computer players on every available core
+ * and reports win rates, score distributions and throughput.
+ *
+ * Usage: {@code java simulation.TournamentRunner <numGames> <bot> <bot> [bot...] [--seed <seed>]}
+ * where each bot is a {@link BotType} name or difficulty level, e.g. {@code 10000 beginner intermediate}.
+ *
+ * Every game derives its deck and bot seeds from the tournament seed and its own index, so results
+ * do not depend on how the games were split across threads and any single game can be replayed.
+ */
+public class TournamentRunner {
+    // Games played by one fork/join task before it stops splitting
+    private static final int GAMES_PER_TASK = 64;
+
+    private final List<BotType> lineup;
+
+    public TournamentRunner(List<BotType> lineup) {
+        if (lineup.size() < GameplayConstants.MIN_NUM_PLAYERS || lineup.size() > GameplayConstants.MAX_MEGA_NUM_PLAYERS) {
+            throw new InvalidPlayerCountException("A tournament needs between " + GameplayConstants.MIN_NUM_PLAYERS
+                    + " and " + GameplayConstants.MAX_MEGA_NUM_PLAYERS + " bots, got " + lineup.size());
+        }
+        this.lineup = new ArrayList<>(lineup);
+    }
+
+    /**
+     * Plays the given number of games on the pool and waits for them to finish.
+     *
+     * @param seed The tournament seed every game's seed is derived from
+     */
+    public TournamentStats run(int numGames, ForkJoinPool pool, long seed) {
+        return pool.invoke(new GameBatch(seed, 0, numGames));
+    }
+
+    /**
+     * @return the seed of the game with the given index in a tournament
+     */
+    public static long gameSeed(long tournamentSeed, int gameIndex) {
+        return new SplittableRandom(tournamentSeed + gameIndex * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    public List<String> getSeatNames() {
+        List<String> names = new ArrayList<>();
+        for (int seat = 0; seat < lineup.size(); seat++) {
+            names.add("Seat " + (seat + 1) + " (" + lineup.get(seat).getDisplayName() + ")");
+        }
+        return names;
+    }
+
+    /**
+     * Plays one game and returns the final score of each seat.
+     *
+     * @param seed Determines the deck order and every bot's choices
+     */
+    public int[] playGame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        // Tables above eight seats play Mega Parade with extra decks
+        Deck deck = new Deck(Deck.decksFor(lineup.size()), random.nextLong());
+
+        List<Player> players = new ArrayList<>();
+        List<String> names = getSeatNames();
+        for (int seat = 0; seat < lineup.size(); seat++) {
+            players.add(lineup.get(seat).create(names.get(seat), random.nextLong()));
+        }
+        return playGame(players, deck);
+    }
+
+    /**
+     * Plays one game between the given players and returns their final scores in seat order.
+     */
+    public static int[] playGame(List<Player> players, Deck deck) {
+        TreeMap<Integer, ArrayList<Player>> scoreMap = new HeadlessGame(players, deck).play();
+
+        int[] scores = new int[players.size()];
+        for (Map.Entry<Integer, ArrayList<Player>> entry : scoreMap.entrySet()) {
+            for (Player p : entry.getValue()) {
+                scores[players.indexOf(p)] = entry.getKey();
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Splits a range of games in half until it is small enough to play sequentially.
+     */
+    private class GameBatch extends RecursiveTask<TournamentStats> {
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        GameBatch(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentStats stats = new TournamentStats(lineup.size());
+                for (int i = from; i < to; i++) {
+                    stats.recordGame(playGame(gameSeed(seed, i)));
+                }
+                return stats;
+            }
+
+            int mid = (from + to) >>> 1;
+            GameBatch left = new GameBatch(seed, from, mid);
+            left.fork();
+            TournamentStats right = new GameBatch(seed, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: TournamentRunner <numGames> <bot> <bot> [bot...] [--seed <seed>]");
+            System.out.println("Bots: " + Arrays.toString(BotType.values()) + " or their difficulty level");
+            return;
+        }
+
+        int numGames = Integer.parseInt(args[0]);
+        long seed = new SplittableRandom().nextLong();
+        List<BotType> lineup = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else {
+                lineup.add(BotType.parse(args[i]));
+            }
+        }
+
+        TournamentRunner runner = new TournamentRunner(lineup);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        System.out.println("Running " + numGames + " games on " + pool.getParallelism() + " worker threads (seed " + seed + ")...");
+
+        long start = System.nanoTime();
+        TournamentStats stats = runner.run(numGames, pool, seed);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.print(stats.formatReport(runner.getSeatNames(), elapsed));
+    }
+}
@@ -0,0 +1,133 @@
+package simulation;
+
+import java.util.List;
+
+/**
+ * Aggregated results of a batch of simulated games, one entry per seat.
+ * Partial results from different worker threads are combined with {@link #merge(TournamentStats)}.
+ */
+public class TournamentStats {
+    // Every card in the deck counted at face value: 6 colors x (0 + 1 + ... + 10)
+    private static final int MAX_SCORE = 330;
+
+    private final int numSeats;
+    private long gamesPlayed;
+    private final double[] wins;
+    private final long[] scoreSums;
+    private final long[] scoreSquareSums;
+    private final long[][] scoreHistogram;
+
+    public TournamentStats(int numSeats) {
+        this.numSeats = numSeats;
+        this.wins = new double[numSeats];
+        this.scoreSums = new long[numSeats];
+        this.scoreSquareSums = new long[numSeats];
+        this.scoreHistogram = new long[numSeats][MAX_SCORE + 1];
+    }
+
+    /**
+     * Records one finished game. Players sharing the lowest score split the win.
+     *
+     * @param scores The final score of each seat
+     */
+    public void recordGame(int[] scores) {
+        int best = Integer.MAX_VALUE;
+        int numWinners = 0;
+        for (int score : scores) {
+            if (score < best) {
+                best = score;
+                numWinners = 1;
+            } else if (score == best) {
+                numWinners++;
+            }
+        }
+
+        for (int seat = 0; seat < numSeats; seat++) {
+            int score = scores[seat];
+            if (score == best) {
+                wins[seat] += 1.0 / numWinners;
+            }
+            scoreSums[seat] += score;
+            scoreSquareSums[seat] += (long) score * score;
+            scoreHistogram[seat][Math.max(0, Math.min(MAX_SCORE, score))]++;
+        }
+        gamesPlayed++;
+    }
+
+    public TournamentStats merge(TournamentStats other) {
+        gamesPlayed += other.gamesPlayed;
+        for (int seat = 0; seat < numSeats; seat++) {
+            wins[seat] += other.wins[seat];
+            scoreSums[seat] += other.scoreSums[seat];
+            scoreSquareSums[seat] += other.scoreSquareSums[seat];
+            for (int score = 0; score <= MAX_SCORE; score++) {
+                scoreHistogram[seat][score] += other.scoreHistogram[seat][score];
+            }
+        }
+        return this;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public double getWinRate(int seat) {
+        return gamesPlayed == 0 ? 0 : wins[seat] / gamesPlayed;
+    }
+
+    public double getMeanScore(int seat) {
+        return gamesPlayed == 0 ? 0 : (double) scoreSums[seat] / gamesPlayed;
+    }
+
+    public double getScoreStandardDeviation(int seat) {
+        if (gamesPlayed == 0) {
+            return 0;
+        }
+        double mean = getMeanScore(seat);
+        return Math.sqrt(Math.max(0, (double) scoreSquareSums[seat] / gamesPlayed - mean * mean));
+    }
+
+    /**
+     * @param seat     The seat to inspect
+     * @param fraction A value between 0 and 1, e.g. 0.5 for the median
+     * @return the score at the given percentile
+     */
+    public int getScorePercentile(int seat, double fraction) {
+        long target = (long) Math.ceil(fraction * gamesPlayed);
+        long seen = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            seen += scoreHistogram[seat][score];
+            if (seen >= Math.max(1, target)) {
+                return score;
+            }
+        }
+        return MAX_SCORE;
+    }
+
+    /**
+     * Builds a printable summary table.
+     *
+     * @param seatNames   The label of each seat
+     * @param elapsedNanos Wall time taken to play the games
+     */
+    public String formatReport(List<String> seatNames, long elapsedNanos) {
+        StringBuilder report = new StringBuilder();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        report.append(String.format("Games played: %d in %.2fs (%.0f games/sec)%n",
+                gamesPlayed, seconds, seconds > 0 ? gamesPlayed / seconds : 0));
+        report.append(String.format("%-28s %8s %8s %8s %6s %6s %6s %6s%n",
+                "Seat", "Win %", "Mean", "StdDev", "Min", "P25", "Median", "P75"));
+        for (int seat = 0; seat < numSeats; seat++) {
+            report.append(String.format("%-28s %7.2f%% %8.2f %8.2f %6d %6d %6d %6d%n",
+                    seatNames.get(seat),
+                    100 * getWinRate(seat),
+                    getMeanScore(seat),
+                    getScoreStandardDeviation(seat),
+                    getScorePercentile(seat, 0),
+                    getScorePercentile(seat, 0.25),
+                    getScorePercentile(seat, 0.5),
+                    getScorePercentile(seat, 0.75)));
+        }
+        return report.toString();
+    }
+}
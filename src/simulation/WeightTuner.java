@@ -0,0 +1,241 @@
+package simulation;
+
+import cards.Card;
+import cards.Deck;
+import constants.GameplayConstants;
+import exceptions.InvalidPlayerCountException;
+import players.Player;
+import players.computer.BotPacing;
+import players.computer.HeuristicWeights;
+import players.computer.IntermediateComputerPlayer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tunes the {@link IntermediateComputerPlayer}'s {@link HeuristicWeights} by self-play.
+ *
+ * Each generation samples a population of weight vectors around the current mean, with a separate
+ * spread per weight, and plays every candidate against opponents using the weights the bots
+ * currently ship with. The best quarter of the candidates become the next mean and spread. All
+ * candidates of a generation play the same deals from the same seats, so they are compared on
+ * equal luck; the candidate's seat rotates from game to game.
+ *
+ * Every (candidate, game) pair is independent, so a generation is split across every available
+ * core with fork/join. Like the {@link TournamentRunner}, results depend only on the seed.
+ *
+ * Usage: {@code java simulation.WeightTuner <generations> <population> <gamesPerCandidate>
+ * [--players <n>] [--seed <seed>] [--out <file>]}. The tuned weights are written to
+ * {@link HeuristicWeights#SOURCE_PATH} unless another file is given.
+ */
+public class WeightTuner {
+    // Games played by one fork/join task before it stops splitting
+    private static final int GAMES_PER_TASK = 16;
+    // Fraction of each generation that the next one is sampled around
+    private static final double ELITE_FRACTION = 0.25;
+    // Spreads never shrink below this, so a weight can still move late in a run
+    private static final double MIN_SIGMA = 0.001;
+
+    private final int numPlayers;
+    private final int gamesPerCandidate;
+    private final HeuristicWeights opponentWeights;
+
+    /**
+     * @param numPlayers        Players per game, the candidate included
+     * @param gamesPerCandidate Games each candidate plays per generation
+     * @param opponentWeights   Weights of every other player
+     */
+    public WeightTuner(int numPlayers, int gamesPerCandidate, HeuristicWeights opponentWeights) {
+        if (numPlayers < GameplayConstants.MIN_NUM_PLAYERS || numPlayers > GameplayConstants.MAX_MEGA_NUM_PLAYERS) {
+            throw new InvalidPlayerCountException("Tuning needs between " + GameplayConstants.MIN_NUM_PLAYERS
+                    + " and " + GameplayConstants.MAX_MEGA_NUM_PLAYERS + " players, got " + numPlayers);
+        }
+        this.numPlayers = numPlayers;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.opponentWeights = opponentWeights;
+    }
+
+    /**
+     * Runs the search and returns the final mean, which averages out the luck a single lucky
+     * candidate may have had.
+     *
+     * @param start The weights to search around first
+     * @param seed  The seed every generation's samples and deals are derived from
+     */
+    public HeuristicWeights tune(HeuristicWeights start, int generations, int population, ForkJoinPool pool, long seed) {
+        double[] mean = start.toArray();
+        double[] sigma = new double[mean.length];
+        for (int i = 0; i < mean.length; i++) {
+            sigma[i] = Math.max(Math.abs(mean[i]) * 0.5, 0.05);
+        }
+        int elite = Math.max(1, (int) Math.round(population * ELITE_FRACTION));
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int generation = 0; generation < generations; generation++) {
+            HeuristicWeights[] candidates = new HeuristicWeights[population];
+            // The mean itself is always a candidate, so each generation reports how it fares
+            candidates[0] = new HeuristicWeights(mean);
+            for (int c = 1; c < population; c++) {
+                double[] values = new double[mean.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = mean[i] + sigma[i] * gaussian(random);
+                }
+                candidates[c] = new HeuristicWeights(values);
+            }
+
+            long generationSeed = random.nextLong();
+            double[] fitness = pool.invoke(new CandidateBatch(candidates, generationSeed, 0, population * gamesPerCandidate));
+
+            Integer[] order = new Integer[population];
+            for (int c = 0; c < population; c++) {
+                order[c] = c;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+
+            // Next mean and spread from the elite candidates
+            for (int i = 0; i < mean.length; i++) {
+                double sum = 0;
+                for (int e = 0; e < elite; e++) {
+                    sum += candidates[order[e]].toArray()[i];
+                }
+                double newMean = sum / elite;
+                double variance = 0;
+                for (int e = 0; e < elite; e++) {
+                    double d = candidates[order[e]].toArray()[i] - newMean;
+                    variance += d * d;
+                }
+                mean[i] = newMean;
+                sigma[i] = Math.max(Math.sqrt(variance / elite), MIN_SIGMA);
+            }
+
+            System.out.printf("Generation %d: best win rate %.1f%%, mean candidate %.1f%%, new mean %s%n",
+                    generation + 1, 100 * fitness[order[0]] / gamesPerCandidate,
+                    100 * fitness[0] / gamesPerCandidate, new HeuristicWeights(mean));
+        }
+        return new HeuristicWeights(mean);
+    }
+
+    /**
+     * Plays one game with the candidate in the given seat.
+     *
+     * @return the candidate's share of the win, split evenly between tied winners
+     */
+    public double playGame(HeuristicWeights candidate, int seat, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Deck deck = new Deck(Deck.decksFor(numPlayers), random.nextLong());
+
+        List<Player> players = new ArrayList<>();
+        for (int p = 0; p < numPlayers; p++) {
+            HeuristicWeights weights = p == seat ? candidate : opponentWeights;
+            players.add(new IntermediateComputerPlayer(new ArrayList<Card>(), "Seat " + (p + 1), BotPacing.NONE, random.nextLong(), weights));
+        }
+        int[] scores = TournamentRunner.playGame(players, deck);
+
+        int best = Integer.MAX_VALUE;
+        int numWinners = 0;
+        for (int score : scores) {
+            if (score < best) {
+                best = score;
+                numWinners = 1;
+            } else if (score == best) {
+                numWinners++;
+            }
+        }
+        return scores[seat] == best ? 1.0 / numWinners : 0;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Plays a range of the generation's games, numbered candidate-major, and sums the wins of each
+     * candidate. Game g of every candidate uses the same deal and seat.
+     */
+    private class CandidateBatch extends RecursiveTask<double[]> {
+        private final HeuristicWeights[] candidates;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        CandidateBatch(HeuristicWeights[] candidates, long seed, int from, int to) {
+            this.candidates = candidates;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                double[] wins = new double[candidates.length];
+                for (int i = from; i < to; i++) {
+                    int candidate = i / gamesPerCandidate;
+                    int game = i % gamesPerCandidate;
+                    wins[candidate] += playGame(candidates[candidate], game % numPlayers,
+                            TournamentRunner.gameSeed(seed, game));
+                }
+                return wins;
+            }
+
+            int mid = (from + to) >>> 1;
+            CandidateBatch left = new CandidateBatch(candidates, seed, from, mid);
+            left.fork();
+            double[] wins = new CandidateBatch(candidates, seed, mid, to).compute();
+            double[] leftWins = left.join();
+            for (int c = 0; c < wins.length; c++) {
+                wins[c] += leftWins[c];
+            }
+            return wins;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: WeightTuner <generations> <population> <gamesPerCandidate> [--players <n>] [--seed <seed>] [--out <file>]");
+            return;
+        }
+
+        int generations = Integer.parseInt(args[0]);
+        int population = Integer.parseInt(args[1]);
+        int gamesPerCandidate = Integer.parseInt(args[2]);
+        int numPlayers = 3;
+        long seed = new SplittableRandom().nextLong();
+        Path out = Paths.get(HeuristicWeights.SOURCE_PATH);
+        for (int i = 3; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--players":
+                    numPlayers = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--out":
+                    out = Paths.get(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        HeuristicWeights current = HeuristicWeights.loadDefault();
+        WeightTuner tuner = new WeightTuner(numPlayers, gamesPerCandidate, current);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        System.out.println("Tuning against " + current + " on " + pool.getParallelism()
+                + " worker threads (seed " + seed + ")...");
+
+        HeuristicWeights best = tuner.tune(current, generations, population, pool, seed);
+        try {
+            best.save(out, "Intermediate bot weights tuned by WeightTuner (seed " + seed + ")");
+            System.out.println("Wrote " + best + " to " + out);
+        } catch (IOException e) {
+            System.out.println("Could not write " + out + ": " + e.getMessage());
+        }
+    }
+}
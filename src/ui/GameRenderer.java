@@ -0,0 +1,130 @@
+package ui;
+
+import cards.Card;
+import cards.CardPrinter;
+import constants.GameplayConstants;
+import constants.UIConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Turns game data into the text players see. Used by the console UI on the machine running the
+ * game and by multiplayer clients, which receive the data rather than the text.
+ */
+public class GameRenderer {
+    public static final String END_TURN_PROMPT = "[ENTER] End Turn";
+    public static final String CONTINUE_PROMPT = "Any player can hit ENTER to continue...";
+
+    private GameRenderer() {
+    }
+
+    /**
+     * Draws the turn order, every river and the parade inside a box.
+     *
+     * @param names       Every player's display name, in turn order
+     * @param currentSeat Index of the player whose turn it is
+     * @param rivers      Every player's river, in turn order
+     * @param parade      The parade, front first
+     * @return the lines of the box, top to bottom
+     */
+    public static List<String> renderBoard(List<String> names, int currentSeat,
+            List<? extends Collection<Card>> rivers, List<Card> parade) {
+        // Build lines for boxed section
+        List<String> boxedLines = new ArrayList<>();
+
+        // Current Turn Line
+        StringBuilder turnLine = new StringBuilder("Current Turn: ");
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (i == currentSeat) {
+                turnLine.append(UIConstants.GREEN).append(name).append(UIConstants.RESET_COLOR);
+            } else {
+                turnLine.append(UIConstants.GRAY).append(name).append(UIConstants.RESET_COLOR);
+            }
+            if (i < names.size() - 1) {
+                turnLine.append(" ➤  ");
+            }
+        }
+        boxedLines.add(turnLine.toString());
+
+        // Each player's river (store string representations of cards, not color-coded visuals)
+        for (int i = 0; i < names.size(); i++) {
+            boxedLines.add("");
+            boxedLines.add(names.get(i) + "'s River:");
+            Collection<Card> river = rivers.get(i);
+            if (river == null || river.isEmpty()) {
+                boxedLines.add("  (Empty)");
+            } else {
+                // Rivers iterate in CardComparator order, so no sorting is needed
+                String[] riverLines = CardPrinter.printCardRow(new ArrayList<>(river), true).split("\n");
+                boxedLines.addAll(Arrays.asList(riverLines));
+            }
+        }
+
+        // Add Parade inside the box
+        boxedLines.add("");
+        boxedLines.add("The Parade:");
+        String[] paradeLines = CardPrinter.printCardRow(parade, true).split("\n");
+        boxedLines.addAll(Arrays.asList(paradeLines));
+
+        // Encapsulate inside a box
+        int maxLength = boxedLines.stream().mapToInt(line -> line.replaceAll("\\e\\[[;\\d]*m", "").length()).max().orElse(0);
+        List<String> box = new ArrayList<>();
+        box.add("╭" + "─".repeat(maxLength + 2) + "╮");
+        for (String line : boxedLines) {
+            box.add("│ " + padRight(line, maxLength) + " │");
+        }
+        box.add("╰" + "─".repeat(maxLength + 2) + "╯");
+        return box;
+    }
+
+    private static String padRight(String text, int width) {
+        String plainText = text.replaceAll("\\e\\[[;\\d]*m", "");
+        return text + " ".repeat(Math.max(0, width - plainText.length()));
+    }
+
+    /**
+     * @return the lines shown to a player about their own hand
+     */
+    public static List<String> renderHand(List<Card> hand) {
+        return Arrays.asList("Your Hand:", CardPrinter.printCardRow(hand, false));
+    }
+
+    /**
+     * @param taken The cards the play took from the parade, or null for a discard
+     * @return the lines announcing a play or discard
+     */
+    public static List<String> renderPlay(String name, Card card, List<Card> taken) {
+        List<String> lines = new ArrayList<>();
+        lines.add(name + (taken == null ? " discarded:" : " played:"));
+        lines.add(CardPrinter.printCardRow(Collections.singletonList(card), false));
+        if (taken != null) {
+            if (!taken.isEmpty()) {
+                lines.add(name + " takes the following cards from the parade:");
+                lines.add(CardPrinter.printCardRow(taken, true));
+            } else {
+                lines.add(name + " takes no cards from the parade!");
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return the lines showing a player's river at the end of the game
+     */
+    public static List<String> renderRiver(String name, List<Card> river) {
+        return Arrays.asList("\n", name + "'s River: ", CardPrinter.printCardRow(river, true), "\n");
+    }
+
+    /**
+     * @return the line asking a player for a card
+     */
+    public static String renderCardPrompt(int handSize, boolean hintAvailable) {
+        return "Your turn! Number of cards: " + handSize
+                + (hintAvailable ? " (type \"" + GameplayConstants.HINT_COMMAND + "\" for a suggestion)" : "");
+    }
+}
@@ -2,21 +2,71 @@ package ui;
 
 import jakarta.websocket.*;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import cards.Card;
+import constants.GameplayConstants;
+import game.GameProtocol;
+import game.GameRoom;
 import game.GameServerEndpoint;
+import game.GameState;
 import account.Account;
+import players.Player;
+import players.human.HumanPlayer;
 
+/**
+ * Sends the game to remote players as {@link GameProtocol} records; each client renders them
+ * itself, so the server never draws cards or boxes.
+ *
+ * The board is sent whole only as a keyframe: to players who don't have it yet or asked for it
+ * again, and to everyone every {@link #KEYFRAME_INTERVAL} versions. Otherwise players get the
+ * plays and rivers that change it and are just told which version to show.
+ */
 public class MultiplayerUI implements UserInterface {
+    public static final int KEYFRAME_INTERVAL = 32;
 
     private GameServerEndpoint gse;
+    private final GameRoom room;
+
+    // Records of the frame being built, in order; a null target means every player
+    private final List<byte[]> frameRecords = new ArrayList<>();
+    private final List<Session> frameTargets = new ArrayList<>();
+    private int frameDepth;
+
+    // The player names each session already has, so they're only sent when they change
+    private List<String> roster = new ArrayList<>();
+    private final Set<Session> rosterRecipients = new HashSet<>();
 
-    public MultiplayerUI(GameServerEndpoint gse) {
+    // The board version, raised by every play that takes cards and every river replaced
+    private long version;
+    private long keyframeVersion;
+    // The sessions that have the board at the current version
+    private final Set<Session> syncedSessions = new HashSet<>();
+    private GameState lastGameState;
+    private int lastSeat;
+
+    public MultiplayerUI(GameServerEndpoint gse, GameRoom room) {
         this.gse = gse;
+        this.room = room;
+        if (room != null) {
+            room.setResyncHandler(this::serveResyncRequests);
+        }
     }
 
     @Override
     public void displayMessage(String message, Session s) {
-        // Send message to the current player's WebSocket
-        gse.sendToCurrentPlayer(message, s);
+        if (s == null) {
+            // Nobody to send it to; never held, so it can't be mistaken for a broadcast
+            gse.sendToCurrentPlayer(message, s);
+            return;
+        }
+        send(GameProtocol.text(message), s);
     }
 
     public void sendAccount(Account account, Session s) {
@@ -25,7 +75,220 @@ public class MultiplayerUI implements UserInterface {
 
     @Override
     public void broadcastMessage(String message) {
-        GameServerEndpoint.broadcast(message);
+        send(GameProtocol.text(message), null);
+    }
+
+    @Override
+    public void displayGameState(GameState gameState, Player currentPlayer) {
+        beginFrame();
+        try {
+            List<Player> players = gameState.getPlayers();
+            sendRoster(players);
+            sendBoard(gameState, players.indexOf(currentPlayer));
+
+            // Show hand for current human player only
+            if (currentPlayer instanceof HumanPlayer) {
+                HumanPlayer hp = (HumanPlayer) currentPlayer;
+                if (hp.getSession() != null) {
+                    send(GameProtocol.hand(hp.getHand()), hp.getSession());
+                }
+            }
+        } finally {
+            commitFrame();
+        }
+    }
+
+    @Override
+    public void displayPlay(GameState gameState, Player player, Card card, List<Card> taken) {
+        beginFrame();
+        try {
+            sendRoster(gameState.getPlayers());
+            if (taken != null) {
+                version++;
+            }
+            send(GameProtocol.play(version, gameState.getPlayers().indexOf(player), card, taken), null);
+        } finally {
+            commitFrame();
+        }
+    }
+
+    @Override
+    public void displayRiver(GameState gameState, Player player) {
+        beginFrame();
+        try {
+            sendRoster(gameState.getPlayers());
+            version++;
+            send(GameProtocol.river(version, gameState.getPlayers().indexOf(player), player.getRiver()), null);
+        } finally {
+            commitFrame();
+        }
+    }
+
+    @Override
+    public void promptCardChoice(HumanPlayer player, String action, boolean hintAvailable, long timeoutMillis) {
+        if (player.getSession() == null) {
+            return;
+        }
+        int kind = action.equals(GameplayConstants.PLAY) ? GameProtocol.PROMPT_PLAY : GameProtocol.PROMPT_DISCARD;
+        send(GameProtocol.prompt(kind, player.getHand().size(), hintAvailable, timeoutMillis), player.getSession());
+    }
+
+    @Override
+    public void promptEndTurn(Session s) {
+        if (s != null) {
+            send(GameProtocol.prompt(GameProtocol.PROMPT_END_TURN, 0, false, 0), s);
+        }
+    }
+
+    @Override
+    public void promptContinue() {
+        send(GameProtocol.prompt(GameProtocol.PROMPT_CONTINUE, 0, false, 0), null);
+    }
+
+    // Queues a keyframe for every session that needs one and the version to show for the rest
+    private void sendBoard(GameState gameState, int currentSeat) {
+        List<Session> sessions = new ArrayList<>(room.getSessionPlayers().keySet());
+        if (gameState != lastGameState || version - keyframeVersion >= KEYFRAME_INTERVAL) {
+            lastGameState = gameState;
+            keyframeVersion = version;
+            syncedSessions.clear();
+        }
+        lastSeat = currentSeat;
+        syncedSessions.retainAll(sessions);
+
+        List<Session> needKeyframe = new ArrayList<>();
+        for (Session s : sessions) {
+            boolean requested = GameServerEndpoint.takeResyncRequest(s);
+            if (requested || !syncedSessions.contains(s)) {
+                needKeyframe.add(s);
+            }
+        }
+        byte[] board = GameProtocol.board(version, currentSeat);
+        if (needKeyframe.isEmpty()) {
+            send(board, null);
+            return;
+        }
+
+        byte[] keyframe = keyframe(gameState, currentSeat);
+        if (needKeyframe.size() == sessions.size()) {
+            send(keyframe, null);
+        } else {
+            for (Session s : sessions) {
+                send(needKeyframe.contains(s) ? keyframe : board, s);
+            }
+        }
+        syncedSessions.addAll(needKeyframe);
+    }
+
+    /**
+     * Sends the board to every session that asked for a keyframe since the last one went out.
+     * The room posts this to the game thread as soon as a request arrives, so a client doesn't
+     * wait for the next play to get back in sync.
+     */
+    private void serveResyncRequests() {
+        if (lastGameState == null) {
+            return;
+        }
+        byte[] keyframe = null;
+        for (Session s : room.getSessionPlayers().keySet()) {
+            if (GameServerEndpoint.takeResyncRequest(s)) {
+                if (keyframe == null) {
+                    keyframe = keyframe(lastGameState, lastSeat);
+                }
+                send(keyframe, s);
+                syncedSessions.add(s);
+            }
+        }
+    }
+
+    private byte[] keyframe(GameState gameState, int currentSeat) {
+        List<Collection<Card>> rivers = new ArrayList<>();
+        for (Player p : gameState.getPlayers()) {
+            rivers.add(p.getRiver());
+        }
+        return GameProtocol.state(version, currentSeat, rivers, gameState.getParade());
+    }
+
+    // Queues the display names for every session that doesn't have the current ones
+    private void sendRoster(List<Player> players) {
+        List<String> names = new ArrayList<>();
+        for (Player p : players) {
+            names.add(PlayerDisplayUtils.getDisplayName(p));
+        }
+        if (!names.equals(roster)) {
+            roster = names;
+            rosterRecipients.clear();
+        }
+        byte[] record = null;
+        for (Session s : room.getSessionPlayers().keySet()) {
+            if (rosterRecipients.add(s)) {
+                if (record == null) {
+                    record = GameProtocol.roster(roster);
+                }
+                send(record, s);
+            }
+        }
+    }
+
+    private void send(byte[] record, Session target) {
+        beginFrame();
+        frameRecords.add(record);
+        frameTargets.add(target);
+        commitFrame();
+    }
+
+    /**
+     * Holds back messages until the matching {@link #commitFrame()}, which sends everything each
+     * player would have received as one message per player. Frames can be nested; only the
+     * outermost commit sends.
+     */
+    @Override
+    public void beginFrame() {
+        frameDepth++;
+    }
+
+    @Override
+    public void commitFrame() {
+        if (frameDepth == 0 || --frameDepth > 0) {
+            return;
+        }
+
+        boolean shared = true;
+        for (Session target : frameTargets) {
+            if (target != null) {
+                shared = false;
+                break;
+            }
+        }
+        if (shared) {
+            if (!frameRecords.isEmpty()) {
+                room.broadcast(GameProtocol.frame(frameRecords));
+            }
+        } else {
+            // Players keep the order they would have seen the messages in
+            Set<Session> recipients = new LinkedHashSet<>(room.getSessionPlayers().keySet());
+            for (Session target : frameTargets) {
+                if (target != null) {
+                    recipients.add(target);
+                }
+            }
+            List<byte[]> frame = new ArrayList<>();
+            for (Session recipient : recipients) {
+                boolean isBroadcastRecipient = room.getSessionPlayers().containsKey(recipient);
+                frame.clear();
+                for (int i = 0; i < frameRecords.size(); i++) {
+                    Session target = frameTargets.get(i);
+                    if (target == recipient || (target == null && isBroadcastRecipient)) {
+                        frame.add(frameRecords.get(i));
+                    }
+                }
+                if (!frame.isEmpty()) {
+                    gse.sendToCurrentPlayer(GameProtocol.frame(frame), recipient);
+                }
+            }
+        }
+        frameRecords.clear();
+        frameTargets.clear();
     }
     
-}
\ No newline at end of file
+}
@@ -1,12 +1,74 @@
 package ui;
 
-// import java.util.*;
-// import cards.*;
-// import game.GameState;
-// import players.Player;
+import java.util.*;
+import cards.*;
+import game.GameState;
+import players.Player;
+import players.human.HumanPlayer;
 import jakarta.websocket.*;
 
 public interface UserInterface {
     void displayMessage(String message, Session s);
     void broadcastMessage(String message);
+
+    // Groups the messages of one screen update so they can be delivered together; frames nest
+    default void beginFrame() {
+    }
+
+    default void commitFrame() {
+    }
+
+    // The methods below show game data. By default they render it as text with GameRenderer;
+    // a UI can send the data itself instead and leave the rendering to the other end.
+
+    // Shows the board to everyone, and the current player's hand to them alone
+    default void displayGameState(GameState gameState, Player currentPlayer) {
+        List<Player> players = gameState.getPlayers();
+        List<String> names = new ArrayList<>();
+        List<CardSet> rivers = new ArrayList<>();
+        for (Player p : players) {
+            names.add(PlayerDisplayUtils.getDisplayName(p));
+            rivers.add(p.getRiver());
+        }
+        for (String line : GameRenderer.renderBoard(names, players.indexOf(currentPlayer), rivers, gameState.getParade())) {
+            broadcastMessage(line);
+        }
+
+        // Show hand for current human player only
+        if (currentPlayer instanceof HumanPlayer) {
+            HumanPlayer hp = (HumanPlayer) currentPlayer;
+            for (String line : GameRenderer.renderHand(hp.getHand())) {
+                displayMessage(line, hp.getSession());
+            }
+        }
+    }
+
+    // Announces a play and the cards it took; taken is null for a discard
+    default void displayPlay(GameState gameState, Player player, Card card, List<Card> taken) {
+        for (String line : GameRenderer.renderPlay(PlayerDisplayUtils.getDisplayName(player), card, taken)) {
+            broadcastMessage(line);
+        }
+    }
+
+    // Shows a player's final river
+    default void displayRiver(GameState gameState, Player player) {
+        for (String line : GameRenderer.renderRiver(PlayerDisplayUtils.getDisplayName(player), new ArrayList<>(player.getRiver()))) {
+            broadcastMessage(line);
+        }
+    }
+
+    // Asks a person for a card; timeoutMillis is how long they have, or 0 for no limit
+    default void promptCardChoice(HumanPlayer player, String action, boolean hintAvailable, long timeoutMillis) {
+        displayMessage(GameRenderer.renderCardPrompt(player.getHand().size(), hintAvailable), player.getSession());
+    }
+
+    // Asks a person to end their turn
+    default void promptEndTurn(Session s) {
+        displayMessage(GameRenderer.END_TURN_PROMPT, s);
+    }
+
+    // Asks anyone to move the game on
+    default void promptContinue() {
+        broadcastMessage(GameRenderer.CONTINUE_PROMPT);
+    }
 }
\ No newline at end of file
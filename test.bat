@@ -0,0 +1 @@
+javac -d test-classes -cp "lib/*;src" test/testing/*.java test/cards/*.java test/game/*.java test/players/computer/*.java && java -cp "lib/*;test-classes;src" testing.TestRunner test %*
\ No newline at end of file
@@ -0,0 +1 @@
+javac -d test-classes -cp "lib/*:src" $(find test -name "*.java") && java -cp "lib/*:test-classes:src" testing.TestRunner test "$@"
\ No newline at end of file
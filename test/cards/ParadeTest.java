@@ -0,0 +1,157 @@
+package cards;
+
+import game.ParadeEngine;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static testing.Assert.*;
+
+/**
+ * Checks the ring buffer behind {@link Parade} against a plain {@code ArrayList}, and its capture
+ * pass against the list-based loop it replaced.
+ */
+public class ParadeTest {
+
+    /**
+     * The capture loop as it was written for an {@code ArrayList} parade: insert at the front,
+     * skip the safe cards and remove each taken card through the iterator.
+     */
+    private static List<Card> resolveWithList(List<Card> parade, Card choice) {
+        int choiceValue = choice.getValue();
+        CardColor choiceColor = choice.getColor();
+
+        parade.add(0, choice);
+
+        Iterator<Card> iterator = parade.iterator();
+        List<Card> takenCards = new ArrayList<Card>();
+
+        for (int i = 0; i < choiceValue; i++) {
+            if (iterator.hasNext()) {
+                iterator.next();
+            }
+        }
+
+        while (iterator.hasNext()) {
+            Card checkCard = iterator.next();
+            if (checkCard.getColor().equals(choiceColor) || checkCard.getValue() <= choiceValue) {
+                takenCards.add(checkCard);
+                iterator.remove();
+            }
+        }
+
+        return takenCards;
+    }
+
+    public static void testCapturesMatchListLoop() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 2000; game++) {
+            // Several decks, so parades with repeated cards are covered too
+            Deck deck = new Deck(1 + random.nextInt(3), random.nextLong());
+            Parade parade = new Parade();
+            List<Card> expected = new ArrayList<>();
+            int initial = random.nextInt(12);
+            for (int i = 0; i < initial && !deck.isEmpty(); i++) {
+                Card card = deck.drawCard();
+                parade.add(card);
+                expected.add(card);
+            }
+
+            while (!deck.isEmpty()) {
+                Card card = deck.drawCard();
+                List<Card> taken = ParadeEngine.resolveParade(parade, card);
+                List<Card> expectedTaken = resolveWithList(expected, card);
+                assertEquals(expectedTaken, taken, "cards taken by " + card);
+                assertEquals(expected, parade, "parade after playing " + card);
+                assertEquals(expected.size(), parade.size(), "parade size");
+                for (int i = 0; i < parade.size(); i++) {
+                    assertEquals(expected.get(i).getId(), parade.getId(i), "card id at " + i);
+                }
+            }
+        }
+    }
+
+    public static void testCaptureRule() {
+        Parade parade = new Parade();
+        // Front first: red 9, blue 1, green 5, red 8, orange 2
+        parade.add(Card.of(CardColor.RED, 9));
+        parade.add(Card.of(CardColor.BLUE, 1));
+        parade.add(Card.of(CardColor.GREEN, 5));
+        parade.add(Card.of(CardColor.RED, 8));
+        parade.add(Card.of(CardColor.ORANGE, 2));
+
+        // A red 2 protects itself and one card; the blue 1 and the red 8 are taken, as is the orange 2
+        List<Card> taken = ParadeEngine.resolveParade(parade, Card.of(CardColor.RED, 2));
+        List<Card> expectedTaken = new ArrayList<>();
+        expectedTaken.add(Card.of(CardColor.BLUE, 1));
+        expectedTaken.add(Card.of(CardColor.RED, 8));
+        expectedTaken.add(Card.of(CardColor.ORANGE, 2));
+        assertEquals(expectedTaken, taken, "cards taken");
+
+        List<Card> expectedParade = new ArrayList<>();
+        expectedParade.add(Card.of(CardColor.RED, 2));
+        expectedParade.add(Card.of(CardColor.RED, 9));
+        expectedParade.add(Card.of(CardColor.GREEN, 5));
+        assertEquals(expectedParade, parade, "parade");
+
+        // A card at least as long as the parade takes nothing
+        assertTrue(ParadeEngine.resolveParade(parade, Card.of(CardColor.GREEN, 10)).isEmpty(), "cards taken by a 10");
+        assertEquals(4, parade.size(), "parade size after a 10");
+    }
+
+    public static void testListOperationsMatchArrayList() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 200; round++) {
+            Parade parade = new Parade();
+            List<Card> expected = new ArrayList<>();
+            // Enough operations to wrap the buffer many times and grow it past its initial size
+            for (int op = 0; op < 300; op++) {
+                Card card = Card.of(random.nextInt(Card.NUM_CARDS));
+                int choice = random.nextInt(expected.isEmpty() ? 3 : 7);
+                switch (choice) {
+                    case 0:
+                        parade.pushFront(card);
+                        expected.add(0, card);
+                        break;
+                    case 1:
+                        parade.add(card);
+                        expected.add(card);
+                        break;
+                    case 2: {
+                        int index = random.nextInt(expected.size() + 1);
+                        parade.add(index, card);
+                        expected.add(index, card);
+                        break;
+                    }
+                    case 3:
+                    case 4:
+                        assertEquals(expected.remove(0), parade.popFront(), "popFront");
+                        break;
+                    case 5: {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), parade.remove(index), "remove(" + index + ")");
+                        break;
+                    }
+                    default: {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.get(index), parade.get(index), "get(" + index + ")");
+                        break;
+                    }
+                }
+                assertEquals(expected, parade, "parade after operation " + op);
+            }
+            parade.clear();
+            assertTrue(parade.isEmpty(), "parade after clear");
+        }
+    }
+
+    public static void testIndexesAreChecked() {
+        Parade parade = new Parade();
+        parade.add(Card.of(CardColor.BLUE, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> parade.getId(1), "getId past the end");
+        assertThrows(IndexOutOfBoundsException.class, () -> parade.get(-1), "get before the start");
+        assertThrows(IndexOutOfBoundsException.class, () -> parade.add(3, Card.of(CardColor.RED, 1)), "add past the end");
+    }
+}
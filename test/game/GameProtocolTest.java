@@ -0,0 +1,178 @@
+package game;
+
+import cards.Card;
+import cards.CardColor;
+import cards.CardSet;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static testing.Assert.*;
+
+/**
+ * Encodes every kind of {@link GameProtocol} record and checks that decoding gives back the same
+ * values, in order.
+ */
+public class GameProtocolTest {
+
+    /**
+     * Writes each record it receives as one line of text.
+     */
+    static class Recorder implements GameProtocol.Handler {
+        final List<String> records = new ArrayList<>();
+
+        @Override
+        public void onText(String text) {
+            records.add("text " + text);
+        }
+
+        @Override
+        public void onRoster(List<String> names) {
+            records.add("roster " + names);
+        }
+
+        @Override
+        public void onState(long version, int currentSeat, List<List<Card>> rivers, List<Card> parade) {
+            records.add("state " + version + " " + currentSeat + " " + rivers + " " + parade);
+        }
+
+        @Override
+        public void onBoard(long version, int currentSeat) {
+            records.add("board " + version + " " + currentSeat);
+        }
+
+        @Override
+        public void onHand(List<Card> hand) {
+            records.add("hand " + hand);
+        }
+
+        @Override
+        public void onPlay(long version, int seat, Card card, List<Card> taken) {
+            records.add("play " + version + " " + seat + " " + card + " " + taken);
+        }
+
+        @Override
+        public void onRiver(long version, int seat, List<Card> river) {
+            records.add("river " + version + " " + seat + " " + river);
+        }
+
+        @Override
+        public void onPrompt(int kind, int handSize, boolean hintAvailable, long timeoutMillis) {
+            records.add("prompt " + kind + " " + handSize + " " + hintAvailable + " " + timeoutMillis);
+        }
+    }
+
+    private static List<String> decode(ByteBuffer frame) {
+        Recorder recorder = new Recorder();
+        GameProtocol.decode(frame, recorder);
+        return recorder.records;
+    }
+
+    private static List<Card> cards(int... ids) {
+        List<Card> cards = new ArrayList<>();
+        for (int id : ids) {
+            cards.add(Card.of(id));
+        }
+        return cards;
+    }
+
+    public static void testEveryRecordRoundTrips() {
+        List<Card> hand = cards(0, 12, 65, 33, 33);
+        List<Card> parade = cards(5, 6, 7, 50, 61, 2);
+        CardSet river = new CardSet(cards(1, 1, 40));
+        List<Collection<Card>> rivers = Arrays.asList(river, new CardSet(), new CardSet(cards(64)));
+        long bigVersion = 1L << 40;
+
+        List<byte[]> records = new ArrayList<>();
+        records.add(GameProtocol.text("Round over, h\u00e9llo \u2713"));
+        records.add(GameProtocol.roster(Arrays.asList("Alice", "Bot 1", "")));
+        records.add(GameProtocol.state(bigVersion, 2, rivers, parade));
+        records.add(GameProtocol.board(127, 1));
+        records.add(GameProtocol.hand(hand));
+        records.add(GameProtocol.play(128, 0, Card.of(CardColor.RED, 3), cards(9, 10)));
+        records.add(GameProtocol.play(128, 1, Card.of(CardColor.GREY, 0), Collections.emptyList()));
+        records.add(GameProtocol.play(128, 2, Card.of(CardColor.ORANGE, 10), null));
+        records.add(GameProtocol.river(Long.MAX_VALUE, 2, river));
+        records.add(GameProtocol.prompt(GameProtocol.PROMPT_DISCARD, 4, true, 300_000));
+        records.add(GameProtocol.prompt(GameProtocol.PROMPT_CONTINUE, 0, false, 0));
+
+        List<String> expected = new ArrayList<>();
+        expected.add("text Round over, h\u00e9llo \u2713");
+        expected.add("roster [Alice, Bot 1, ]");
+        expected.add("state " + bigVersion + " 2 " + Arrays.asList(new ArrayList<>(river), cards(), cards(64)) + " " + parade);
+        expected.add("board 127 1");
+        expected.add("hand " + hand);
+        expected.add("play 128 0 " + Card.of(CardColor.RED, 3) + " " + cards(9, 10));
+        expected.add("play 128 1 " + Card.of(CardColor.GREY, 0) + " []");
+        expected.add("play 128 2 " + Card.of(CardColor.ORANGE, 10) + " null");
+        expected.add("river " + Long.MAX_VALUE + " 2 " + new ArrayList<>(river));
+        expected.add("prompt " + GameProtocol.PROMPT_DISCARD + " 4 true 300000");
+        expected.add("prompt " + GameProtocol.PROMPT_CONTINUE + " 0 false 0");
+
+        ByteBuffer frame = GameProtocol.frame(records);
+        assertTrue(GameProtocol.isFrame(frame), "frame is recognised");
+        assertFalse(GameProtocol.isResyncRequest(frame), "frame taken for a resync request");
+        assertEquals(expected, decode(frame), "decoded records");
+        assertFalse(frame.hasRemaining(), "bytes left after decoding");
+    }
+
+    public static void testRecordsDecodeOneAtATime() {
+        // Each record says how long it is, so any split into frames decodes the same way
+        List<byte[]> records = Arrays.asList(
+                GameProtocol.board(3, 0),
+                GameProtocol.hand(cards(1, 2, 3)),
+                GameProtocol.prompt(GameProtocol.PROMPT_PLAY, 3, false, 15_000));
+        List<String> whole = decode(GameProtocol.frame(records));
+        List<String> separately = new ArrayList<>();
+        for (byte[] record : records) {
+            separately.addAll(decode(GameProtocol.frame(Collections.singletonList(record))));
+        }
+        assertEquals(whole, separately, "records decoded one frame at a time");
+        assertEquals(3, whole.size(), "record count");
+    }
+
+    public static void testLongNamesAreTruncatedWholeCharacters() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            name.append('\u00e9');
+        }
+        List<String> decoded = decode(GameProtocol.frame(Collections.singletonList(
+                GameProtocol.roster(Collections.singletonList(name.toString())))));
+        String roster = decoded.get(0);
+        String truncated = roster.substring("roster [".length(), roster.length() - 1);
+        assertTrue(truncated.getBytes(StandardCharsets.UTF_8).length <= 255, "name fits in a byte length");
+        assertTrue(name.toString().startsWith(truncated), "name is cut between characters");
+        assertEquals(127, truncated.length(), "characters kept");
+    }
+
+    public static void testResyncRequest() {
+        ByteBuffer request = GameProtocol.resyncRequest();
+        assertTrue(GameProtocol.isFrame(request), "resync request is a frame");
+        assertTrue(GameProtocol.isResyncRequest(request), "resync request is recognised");
+        assertEquals(0, request.position(), "position after checking");
+
+        // Only the exact three bytes count
+        ByteBuffer longer = ByteBuffer.wrap(new byte[] {GameProtocol.MAGIC, GameProtocol.VERSION, GameProtocol.RESYNC, 0});
+        assertFalse(GameProtocol.isResyncRequest(longer), "longer message taken for a resync request");
+        ByteBuffer oldVersion = ByteBuffer.wrap(new byte[] {GameProtocol.MAGIC, GameProtocol.VERSION - 1, GameProtocol.RESYNC});
+        assertFalse(GameProtocol.isResyncRequest(oldVersion), "other version taken for a resync request");
+    }
+
+    public static void testBadFramesAreRejected() {
+        // A Java-serialized object starts with 0xAC 0xED
+        ByteBuffer serialized = ByteBuffer.wrap(new byte[] {(byte) 0xAC, (byte) 0xED, 0, 5});
+        assertFalse(GameProtocol.isFrame(serialized), "serialized object taken for a frame");
+        assertThrows(IllegalArgumentException.class, () -> decode(serialized), "decoding a serialized object");
+
+        ByteBuffer otherVersion = ByteBuffer.wrap(new byte[] {GameProtocol.MAGIC, GameProtocol.VERSION + 1});
+        assertThrows(IllegalArgumentException.class, () -> decode(otherVersion), "decoding another version");
+
+        ByteBuffer unknown = ByteBuffer.wrap(new byte[] {GameProtocol.MAGIC, GameProtocol.VERSION, 99});
+        assertThrows(IllegalArgumentException.class, () -> decode(unknown), "decoding an unknown record");
+    }
+}
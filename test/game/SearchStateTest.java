@@ -0,0 +1,166 @@
+package game;
+
+import cards.Card;
+import constants.GameplayConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static testing.Assert.*;
+import static testing.Games.deal;
+
+/**
+ * Checks that {@link SearchState#unmakeMove()} exactly undoes {@link SearchState#makeMove(int)},
+ * hash included, and that the hash only depends on the position.
+ */
+public class SearchStateTest {
+    private static final int GAMES_PER_TABLE_SIZE = 40;
+
+    /**
+     * @return everything a search can observe about the position, hand slot order included
+     */
+    public static String snapshot(SearchState state) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("hash=").append(state.getHash())
+                .append(" player=").append(state.getCurrentPlayer())
+                .append(" phase=").append(state.getPhase())
+                .append(" discards=").append(state.getDiscardsLeft())
+                .append(" deck=").append(state.getDeckRemaining())
+                .append(" parade=[");
+        for (int i = 0; i < state.getParadeSize(); i++) {
+            sb.append(state.getParadeCard(i)).append(' ');
+        }
+        sb.append(']');
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            sb.append(" p").append(p).append(" hand=[");
+            for (int slot = 0; slot < state.getHandSize(p); slot++) {
+                sb.append(state.getHandCard(p, slot)).append(' ');
+            }
+            sb.append("] river=[");
+            for (int color = 0; color < SearchState.NUM_COLORS; color++) {
+                sb.append(state.getRiverCount(p, color)).append('/')
+                        .append(state.getRiverValueSum(p, color)).append(' ');
+            }
+            sb.append("] mask=").append(state.getRiverColorMask(p));
+        }
+        return sb.toString();
+    }
+
+    public static void testRandomMakeUnmakeRestoresPosition() {
+        SplittableRandom random = new SplittableRandom(9);
+        for (int numPlayers = 2; numPlayers <= 6; numPlayers++) {
+            for (int game = 0; game < GAMES_PER_TABLE_SIZE; game++) {
+                SearchState state = deal(numPlayers, random.nextLong()).toSearchState(0, SearchState.Phase.PLAY, 0);
+
+                // Play to a random depth, sometimes the end of the game, backing up part way now and then
+                List<String> before = new ArrayList<>();
+                int target = random.nextInt(200);
+                while (!state.isTerminal() && before.size() < target) {
+                    if (!before.isEmpty() && random.nextInt(4) == 0) {
+                        state.unmakeMove();
+                        assertEquals(before.remove(before.size() - 1), snapshot(state), "position after a back-up");
+                        continue;
+                    }
+                    before.add(snapshot(state));
+                    state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+                    assertEquals(before.size(), state.getDepth(), "depth");
+                }
+
+                while (!before.isEmpty()) {
+                    state.unmakeMove();
+                    assertEquals(before.remove(before.size() - 1), snapshot(state),
+                            numPlayers + " players, depth " + state.getDepth());
+                }
+                assertThrows(IllegalStateException.class, state::unmakeMove, "unmake with an empty move stack");
+            }
+        }
+    }
+
+    public static void testCopyMatchesOriginal() {
+        SplittableRandom random = new SplittableRandom(11);
+        SearchState state = deal(4, 11).toSearchState(0, SearchState.Phase.PLAY, 0);
+        for (int i = 0; i < 30; i++) {
+            state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+        }
+        SearchState copy = state.copy();
+        assertEquals(snapshot(state), snapshot(copy), "copy");
+        assertEquals(0, copy.getDepth(), "copy depth");
+
+        // Moves on the copy leave the original alone, and the copy can be reset to it
+        String original = snapshot(state);
+        copy.makeMove(0);
+        copy.makeMove(0);
+        assertEquals(original, snapshot(state), "original after moves on the copy");
+        state.unmakeMove();
+        copy.copyPositionFrom(state);
+        assertEquals(snapshot(state), snapshot(copy), "reset copy");
+        assertEquals(0, copy.getDepth(), "reset copy depth");
+    }
+
+    public static void testHashDependsOnlyOnPosition() {
+        // Two discards in either order reach the same position by different move sequences
+        SplittableRandom random = new SplittableRandom(13);
+        for (int game = 0; game < 50; game++) {
+            SearchState state = deal(3, random.nextLong()).toSearchState(0, SearchState.Phase.PLAY, 0);
+            while (state.getPhase() != SearchState.Phase.DISCARD) {
+                state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+            }
+            int player = state.getCurrentPlayer();
+            int a = state.getHandCard(player, 0);
+            int b = state.getHandCard(player, 1);
+
+            state.makeMove(0);
+            state.makeMove(slotOf(state, player, b));
+            long hash = state.getHash();
+            String position = sortedHands(state);
+            state.unmakeMove();
+            state.unmakeMove();
+
+            state.makeMove(1);
+            state.makeMove(slotOf(state, player, a));
+            assertEquals(position, sortedHands(state), "same cards discarded");
+            assertEquals(hash, state.getHash(), "hash after discarding in the other order");
+        }
+    }
+
+    public static void testSameGameGivesSameHash() {
+        SearchState first = deal(5, 17).toSearchState(2, SearchState.Phase.PLAY, 0);
+        SearchState second = deal(5, 17).toSearchState(2, SearchState.Phase.PLAY, 0);
+        assertEquals(first.getHash(), second.getHash(), "hash of two copies of one game");
+        SearchState otherPlayer = deal(5, 17).toSearchState(3, SearchState.Phase.PLAY, 0);
+        assertTrue(first.getHash() != otherPlayer.getHash(), "the player to move is part of the hash");
+    }
+
+    public static void testIllegalMovesAreRejected() {
+        SearchState state = deal(2, 19).toSearchState(0, SearchState.Phase.PLAY, 0);
+        String before = snapshot(state);
+        assertThrows(IllegalStateException.class, () -> state.makeMove(GameplayConstants.MAX_HAND_SIZE), "slot past the hand");
+        assertThrows(IllegalStateException.class, () -> state.makeMove(-1), "negative slot");
+        assertEquals(before, snapshot(state), "position after a rejected move");
+    }
+
+    private static int slotOf(SearchState state, int player, int cardId) {
+        for (int slot = 0; slot < state.getHandSize(player); slot++) {
+            if (state.getHandCard(player, slot) == cardId) {
+                return slot;
+            }
+        }
+        throw new AssertionError("Card " + Card.of(cardId) + " not in hand");
+    }
+
+    // Hands as sorted ids, since slot order depends on the move order
+    private static String sortedHands(SearchState state) {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            int[] hand = new int[state.getHandSize(p)];
+            for (int slot = 0; slot < hand.length; slot++) {
+                hand[slot] = state.getHandCard(p, slot);
+            }
+            Arrays.sort(hand);
+            sb.append(Arrays.toString(hand));
+        }
+        return sb.toString();
+    }
+}
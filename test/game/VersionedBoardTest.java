@@ -0,0 +1,201 @@
+package game;
+
+import cards.Card;
+import cards.CardColor;
+import players.Player;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static testing.Assert.*;
+import static testing.Games.deal;
+
+/**
+ * Checks that a {@link VersionedBoard} follows the server's board through deltas, notices a
+ * missed or wrong update, and is brought back in sync by a keyframe.
+ */
+public class VersionedBoardTest {
+
+    private static List<List<Card>> emptyRivers(int numPlayers) {
+        List<List<Card>> rivers = new ArrayList<>();
+        for (int p = 0; p < numPlayers; p++) {
+            rivers.add(new ArrayList<>());
+        }
+        return rivers;
+    }
+
+    private static List<Card> ids(Collection<Card> cards) {
+        List<Card> sorted = new ArrayList<>(cards);
+        sorted.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        return sorted;
+    }
+
+    private static void assertMatches(GameState server, VersionedBoard board, String message) {
+        assertEquals(new ArrayList<>(server.getParade()), new ArrayList<>(board.getParade()), message + ": parade");
+        List<Player> players = server.getPlayers();
+        assertEquals(players.size(), board.getRivers().size(), message + ": river count");
+        for (int p = 0; p < players.size(); p++) {
+            assertEquals(ids(players.get(p).getRiver()), ids(board.getRivers().get(p)), message + ": river " + p);
+        }
+    }
+
+    public static void testDeltasFollowKeyframe() {
+        VersionedBoard board = new VersionedBoard();
+        assertFalse(board.isInSync(), "new board in sync");
+
+        Card red5 = Card.of(CardColor.RED, 5);
+        Card blue1 = Card.of(CardColor.BLUE, 1);
+        List<Card> parade = Arrays.asList(Card.of(CardColor.GREEN, 9), Card.of(CardColor.PURPLE, 8), blue1);
+        board.applyKeyframe(10, 0, emptyRivers(2), parade);
+        assertTrue(board.isInSync(), "in sync after a keyframe");
+        assertEquals(10, board.getVersion(), "version");
+
+        // A red 5 protects the whole parade of three plus itself
+        assertTrue(board.applyPlay(11, 0, red5, Collections.emptyList()), "play taking nothing");
+        assertEquals(4, board.getParade().size(), "parade size");
+
+        // A grey 0 only takes itself, so a server claiming more means the copies differ
+        Card grey0 = Card.of(CardColor.GREY, 0);
+        List<Card> taken = Arrays.asList(Card.of(CardColor.GREEN, 9), Card.of(CardColor.PURPLE, 8));
+        assertFalse(board.applyPlay(12, 1, grey0, taken), "play with the wrong cards taken");
+        assertFalse(board.isInSync(), "in sync after a mismatched play");
+    }
+
+    public static void testDiscardsAndStaleDeltasChangeNothing() {
+        VersionedBoard board = new VersionedBoard();
+        board.applyKeyframe(4, 1, emptyRivers(3), Collections.singletonList(Card.of(CardColor.RED, 2)));
+
+        assertTrue(board.applyPlay(4, 2, Card.of(CardColor.BLUE, 3), null), "discard");
+        assertTrue(board.applyPlay(3, 2, Card.of(CardColor.BLUE, 3), Collections.emptyList()), "stale play");
+        assertTrue(board.applyRiver(4, 0, Collections.singletonList(Card.of(CardColor.RED, 1))), "stale river");
+        assertEquals(4, board.getVersion(), "version");
+        assertEquals(1, board.getParade().size(), "parade size");
+        assertTrue(board.getRivers().get(0).isEmpty(), "river after a stale update");
+        assertTrue(board.show(4, 2), "show at the current version");
+        assertEquals(2, board.getCurrentSeat(), "seat moved on by show");
+
+        assertTrue(board.applyRiver(5, 0, Collections.singletonList(Card.of(CardColor.RED, 1))), "river");
+        assertEquals(1, board.getRivers().get(0).size(), "river size");
+    }
+
+    public static void testGapNeedsKeyframe() {
+        VersionedBoard board = new VersionedBoard();
+        board.applyKeyframe(7, 0, emptyRivers(2), Collections.singletonList(Card.of(CardColor.RED, 2)));
+
+        assertFalse(board.applyRiver(9, 1, Collections.emptyList()), "delta after a gap");
+        assertFalse(board.isInSync(), "in sync after a gap");
+        assertFalse(board.applyRiver(10, 1, Collections.emptyList()), "delta while out of sync");
+        assertFalse(board.show(7, 0), "show while out of sync");
+
+        // While out of sync any keyframe is taken, even one older than the last version seen
+        board.applyKeyframe(6, 1, emptyRivers(2), Collections.emptyList());
+        assertTrue(board.isInSync(), "in sync after a keyframe");
+        assertEquals(6, board.getVersion(), "version after the keyframe");
+
+        // But once in sync, an older keyframe is ignored
+        board.applyKeyframe(5, 0, emptyRivers(3), Collections.emptyList());
+        assertEquals(6, board.getVersion(), "version after an older keyframe");
+        assertEquals(2, board.getRivers().size(), "rivers after an older keyframe");
+
+        assertFalse(board.show(8, 0), "show at a version the board doesn't have");
+        assertFalse(board.isInSync(), "in sync after showing a missing version");
+    }
+
+    public static void testDeltasOutOfRangeSeatLoseSync() {
+        VersionedBoard board = new VersionedBoard();
+        board.applyKeyframe(0, 0, emptyRivers(2), Collections.emptyList());
+        assertFalse(board.applyRiver(1, 2, Collections.emptyList()), "river of a seat past the table");
+        assertFalse(board.isInSync(), "in sync after a bad seat");
+    }
+
+    /**
+     * Plays whole games on the server side, versioned the way {@link ui.MultiplayerUI} does it, and
+     * sends every update through {@link GameProtocol} to a client board. Some frames are lost on
+     * the way; the client must notice, ask for a keyframe and then match the server again.
+     */
+    public static void testClientFollowsGameAndResyncs() {
+        SplittableRandom random = new SplittableRandom(41);
+        for (int game = 0; game < 100; game++) {
+            int numPlayers = 2 + random.nextInt(5);
+            GameState server = deal(numPlayers, random.nextLong());
+            VersionedBoard board = new VersionedBoard();
+            long version = 0;
+            boolean missedFrame = false;
+
+            board.applyKeyframe(version, 0, emptyRivers(numPlayers), new ArrayList<>(server.getParade()));
+            assertMatches(server, board, "after the first keyframe");
+
+            int turn = 0;
+            boolean gameIsOver = false;
+            while (!gameIsOver) {
+                int seat = turn++ % numPlayers;
+                Player player = server.getPlayers().get(seat);
+                Card card = player.playCard(random.nextInt(player.getHand().size()));
+                PlayResult result = ParadeEngine.applyPlay(server, player, card);
+                gameIsOver = result.isGameOver();
+                version++;
+
+                ByteBuffer frame = GameProtocol.frame(Arrays.asList(
+                        GameProtocol.play(version, seat, card, result.getTakenCards()),
+                        GameProtocol.board(version, turn % numPlayers)));
+                if (random.nextInt(20) == 0) {
+                    missedFrame = true;
+                } else {
+                    GameProtocol.decode(frame, new ClientHandler(board));
+                }
+                if (!board.isInSync()) {
+                    assertTrue(missedFrame, "lost sync without missing a frame");
+                    // The server answers a resync request with a keyframe of the current board
+                    assertTrue(GameProtocol.isResyncRequest(GameProtocol.resyncRequest()), "resync request");
+                    List<Collection<Card>> rivers = new ArrayList<>();
+                    for (Player p : server.getPlayers()) {
+                        rivers.add(p.getRiver());
+                    }
+                    GameProtocol.decode(GameProtocol.frame(Collections.singletonList(
+                            GameProtocol.state(version, turn % numPlayers, rivers, server.getParade()))),
+                            new ClientHandler(board));
+                    assertTrue(board.isInSync(), "in sync after a keyframe");
+                    missedFrame = false;
+                }
+                if (!missedFrame) {
+                    assertMatches(server, board, "game " + game + " at version " + version);
+                    assertEquals(turn % numPlayers, board.getCurrentSeat(), "seat shown");
+                }
+            }
+        }
+    }
+
+    // Feeds board records to the client's board the way GameClientEndpoint does
+    private static class ClientHandler extends GameProtocolTest.Recorder {
+        private final VersionedBoard board;
+
+        ClientHandler(VersionedBoard board) {
+            this.board = board;
+        }
+
+        @Override
+        public void onState(long version, int currentSeat, List<List<Card>> rivers, List<Card> parade) {
+            board.applyKeyframe(version, currentSeat, rivers, parade);
+        }
+
+        @Override
+        public void onBoard(long version, int currentSeat) {
+            board.show(version, currentSeat);
+        }
+
+        @Override
+        public void onPlay(long version, int seat, Card card, List<Card> taken) {
+            board.applyPlay(version, seat, card, taken);
+        }
+
+        @Override
+        public void onRiver(long version, int seat, List<Card> river) {
+            board.applyRiver(version, seat, river);
+        }
+    }
+}
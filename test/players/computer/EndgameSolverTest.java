@@ -0,0 +1,128 @@
+package players.computer;
+
+import game.SearchState;
+import game.SearchStateTest;
+
+import java.util.SplittableRandom;
+
+import static testing.Assert.*;
+import static testing.Games.deal;
+
+/**
+ * Checks {@link EndgameSolver} against a plain max-n search of every move order, without the
+ * transposition table or the discard pair pruning.
+ */
+public class EndgameSolverTest {
+    // Larger endgames take too long to brute force
+    private static final long MAX_LEAVES = 20_000;
+
+    public static void testSolveMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(23);
+        int solved = 0;
+        for (int attempt = 0; attempt < 400 && solved < 60; attempt++) {
+            int numPlayers = 2 + random.nextInt(3);
+            SearchState root = randomEndgame(numPlayers, random);
+            if (EndgameSolver.estimateLeaves(root) > MAX_LEAVES) {
+                continue;
+            }
+            String before = SearchStateTest.snapshot(root);
+
+            EndgameSolver solver = new EndgameSolver(numPlayers, 1 << 14, Long.MAX_VALUE);
+            int[] scores = new int[numPlayers];
+            assertTrue(solver.solve(root, scores), "solve within an unlimited budget");
+            assertEquals(before, SearchStateTest.snapshot(root), "position after solving");
+
+            int[] expected = new int[numPlayers];
+            bruteForce(root, expected);
+            assertArrayEquals(expected, scores, "scores from " + before);
+
+            // Solving again is answered from the table
+            int[] again = new int[numPlayers];
+            assertTrue(solver.solve(root, again), "second solve");
+            assertArrayEquals(expected, again, "scores of the second solve");
+            solved++;
+        }
+        assertTrue(solved >= 30, "only " + solved + " endgames were small enough to check");
+    }
+
+    public static void testBudgetIsEnforced() {
+        SplittableRandom random = new SplittableRandom(29);
+        SearchState root = randomEndgame(4, random);
+        while (root.getPhase() != SearchState.Phase.FINAL || EndgameSolver.estimateLeaves(root) < 1000) {
+            root = randomEndgame(4, random);
+        }
+        String before = SearchStateTest.snapshot(root);
+        EndgameSolver solver = new EndgameSolver(4, 1 << 10, 10);
+        assertFalse(solver.solve(root, new int[4]), "solve with a budget of 10 positions");
+        assertEquals(before, SearchStateTest.snapshot(root), "position after running out of budget");
+    }
+
+    public static void testChooseCardRefusesUnsolvablePositions() {
+        SearchState start = deal(3, 31).toSearchState(0, SearchState.Phase.PLAY, 0);
+        EndgameSolver solver = new EndgameSolver(3, 1 << 10, 1_000_000);
+        assertEquals(-1, solver.chooseCard(start, 4, new SplittableRandom(31)), "card chosen with cards left to draw");
+    }
+
+    /**
+     * @return a position from a random game once the deck has run out, part way through the final
+     *         round or the discards
+     */
+    private static SearchState randomEndgame(int numPlayers, SplittableRandom random) {
+        SearchState state = deal(numPlayers, random.nextLong()).toSearchState(0, SearchState.Phase.PLAY, 0);
+        while (state.getPhase() == SearchState.Phase.PLAY) {
+            state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+        }
+        int extra = random.nextInt(numPlayers + 2);
+        for (int i = 0; i < extra && !state.isTerminal(); i++) {
+            state.makeMove(random.nextInt(state.getHandSize(state.getCurrentPlayer())));
+        }
+        // Start the solver from a clean move stack, as the bots do
+        return state.copy();
+    }
+
+    /**
+     * Max-n over every move, with the solver's tie-breaks: lowest own score, then the best
+     * opponent as badly off as possible, then higher scores in seat order.
+     */
+    private static void bruteForce(SearchState state, int[] scores) {
+        if (state.isTerminal()) {
+            state.computeScores(scores);
+            return;
+        }
+        int player = state.getCurrentPlayer();
+        int[] child = new int[scores.length];
+        int[] best = null;
+        for (int slot = 0; slot < state.getHandSize(player); slot++) {
+            state.makeMove(slot);
+            bruteForce(state, child);
+            state.unmakeMove();
+            if (best == null || isBetter(child, best, player)) {
+                best = child.clone();
+            }
+        }
+        System.arraycopy(best, 0, scores, 0, scores.length);
+    }
+
+    private static boolean isBetter(int[] candidate, int[] best, int player) {
+        if (candidate[player] != best[player]) {
+            return candidate[player] < best[player];
+        }
+        int candidateOpponent = Integer.MAX_VALUE;
+        int bestOpponent = Integer.MAX_VALUE;
+        for (int p = 0; p < candidate.length; p++) {
+            if (p != player) {
+                candidateOpponent = Math.min(candidateOpponent, candidate[p]);
+                bestOpponent = Math.min(bestOpponent, best[p]);
+            }
+        }
+        if (candidateOpponent != bestOpponent) {
+            return candidateOpponent > bestOpponent;
+        }
+        for (int p = 0; p < candidate.length; p++) {
+            if (candidate[p] != best[p]) {
+                return candidate[p] > best[p];
+            }
+        }
+        return false;
+    }
+}
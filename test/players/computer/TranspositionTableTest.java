@@ -0,0 +1,58 @@
+package players.computer;
+
+import static testing.Assert.*;
+
+/**
+ * Checks the replacement rules of {@link TranspositionTable}.
+ */
+public class TranspositionTableTest {
+
+    public static void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(100, 3);
+        assertEquals(128, table.getCapacity(), "capacity rounded up to a power of two");
+
+        int[] out = new int[3];
+        assertFalse(table.probe(42, 0, out), "probe of an empty table");
+        table.store(42, 5, 7, new int[] {1, 2, 3, 99});
+        assertTrue(table.probe(42, 5, out), "probe at the stored depth");
+        assertArrayEquals(new int[] {1, 2, 3}, out, "stored values");
+        assertEquals(7, table.getBestMove(42), "best move");
+        assertFalse(table.probe(42, 6, out), "probe deeper than stored");
+        assertEquals(-1, table.getBestMove(42 + 128), "best move of another key in the slot");
+        assertFalse(table.probe(42 + 128, 0, out), "probe of another key in the slot");
+        assertEquals(1, table.getHits(), "hits");
+        assertEquals(3, table.getMisses(), "misses");
+    }
+
+    public static void testDeeperResultIsKeptWithinASearch() {
+        TranspositionTable table = new TranspositionTable(16, 1);
+        int[] out = new int[1];
+        table.store(3, 4, 0, new int[] {40});
+        table.store(3, 2, 0, new int[] {20});
+        assertTrue(table.probe(3, 0, out), "probe");
+        assertEquals(40, out[0], "shallower result replaced a deeper one");
+
+        // Another position that maps to the same slot doesn't evict it either
+        table.store(3 + 16, 1, 0, new int[] {10});
+        assertTrue(table.probe(3, 4, out), "deeper entry after a colliding store");
+
+        // But a result from an earlier search may be replaced
+        table.newSearch();
+        table.store(3 + 16, 1, 0, new int[] {10});
+        assertFalse(table.probe(3, 0, out), "entry from an earlier search kept");
+        assertTrue(table.probe(3 + 16, 1, out), "new entry");
+        assertEquals(10, out[0], "new entry value");
+    }
+
+    public static void testClear() {
+        TranspositionTable table = new TranspositionTable(64, 2);
+        for (long key = 0; key < 64; key++) {
+            table.store(key * 0x9E3779B97F4A7C15L, 1, 0, new int[] {1, 2});
+        }
+        table.clear();
+        for (long key = 0; key < 64; key++) {
+            assertFalse(table.probe(key * 0x9E3779B97F4A7C15L, 0, new int[2]), "entry after clear");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0, 2), "zero capacity");
+    }
+}
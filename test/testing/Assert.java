@@ -0,0 +1,57 @@
+package testing;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The few assertions the tests need. Each throws an {@link AssertionError} naming what was checked.
+ */
+public final class Assert {
+
+    private Assert() {
+    }
+
+    public static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void assertFalse(boolean condition, String message) {
+        assertTrue(!condition, message);
+    }
+
+    public static void assertEquals(long expected, long actual, String message) {
+        if (expected != actual) {
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void assertEquals(Object expected, Object actual, String message) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void assertArrayEquals(int[] expected, int[] actual, String message) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new AssertionError(message + ": expected " + Arrays.toString(expected)
+                    + " but was " + Arrays.toString(actual));
+        }
+    }
+
+    /**
+     * Checks that the code throws the given kind of exception.
+     */
+    public static void assertThrows(Class<? extends Throwable> expected, Runnable code, String message) {
+        try {
+            code.run();
+        } catch (Throwable e) {
+            if (expected.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(message + ": expected " + expected.getSimpleName() + " but got " + e, e);
+        }
+        throw new AssertionError(message + ": expected " + expected.getSimpleName() + " but nothing was thrown");
+    }
+}
@@ -0,0 +1,40 @@
+package testing;
+
+import cards.Deck;
+import constants.GameplayConstants;
+import game.GameState;
+import players.Player;
+import players.computer.BeginnerComputerPlayer;
+import players.computer.BotPacing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Game positions for tests.
+ */
+public final class Games {
+
+    private Games() {
+    }
+
+    /**
+     * Deals a new game the way {@link game.HeadlessGame} does, with as many decks as the table
+     * needs and Beginner bots in every seat.
+     */
+    public static GameState deal(int numPlayers, long seed) {
+        Deck deck = new Deck(Deck.decksFor(numPlayers), seed);
+        List<Player> players = new ArrayList<>();
+        for (int p = 0; p < numPlayers; p++) {
+            players.add(new BeginnerComputerPlayer(new ArrayList<>(), "Bot " + p, BotPacing.NONE, seed + p));
+        }
+        GameState gameState = new GameState(players, deck);
+        for (Player player : players) {
+            for (int i = 0; i < GameplayConstants.INITIAL_HAND_SIZE; i++) {
+                player.drawCard(deck.drawCard());
+            }
+        }
+        gameState.initializeParade(GameplayConstants.INITIAL_PARADE_LENGTH);
+        return gameState;
+    }
+}
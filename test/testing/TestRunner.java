@@ -0,0 +1,98 @@
+package testing;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the tests in the {@code test} directory without any test library.
+ *
+ * Every class whose name ends in {@code Test} is loaded, and each of its public static methods
+ * named {@code test...} is called with no arguments. A test fails by throwing, normally an
+ * {@link AssertionError} from {@link Assert}. The process exits with status 1 if any test failed.
+ *
+ * Usage: {@code TestRunner <test source directory> [name filter]}
+ */
+public class TestRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: TestRunner <test source directory> [name filter]");
+            System.exit(2);
+        }
+        Path root = Paths.get(args[0]);
+        String filter = args.length > 1 ? args[1] : "";
+
+        List<String> classNames;
+        try (Stream<Path> files = Files.walk(root)) {
+            classNames = files
+                    .filter(file -> file.getFileName().toString().endsWith("Test.java"))
+                    .map(file -> toClassName(root.relativize(file)))
+                    .filter(name -> name.contains(filter))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        int passed = 0;
+        List<String> failures = new ArrayList<>();
+        for (String className : classNames) {
+            Class<?> testClass;
+            try {
+                testClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                failures.add(className + ": not compiled");
+                continue;
+            }
+            Method[] methods = testClass.getDeclaredMethods();
+            // Declaration order isn't guaranteed by reflection, so run tests by name
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (!isTest(method)) {
+                    continue;
+                }
+                String name = testClass.getSimpleName() + "." + method.getName();
+                long start = System.nanoTime();
+                try {
+                    method.invoke(null);
+                    passed++;
+                    System.out.printf("PASS %s (%d ms)%n", name, (System.nanoTime() - start) / 1_000_000);
+                } catch (InvocationTargetException e) {
+                    failures.add(name + ": " + e.getCause());
+                    System.out.println("FAIL " + name);
+                    e.getCause().printStackTrace(System.out);
+                } catch (IllegalAccessException e) {
+                    failures.add(name + ": " + e);
+                    System.out.println("FAIL " + name);
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(passed + " passed, " + failures.size() + " failed");
+        for (String failure : failures) {
+            System.out.println("  " + failure);
+        }
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    private static boolean isTest(Method method) {
+        int modifiers = method.getModifiers();
+        return method.getName().startsWith("test") && method.getParameterCount() == 0
+                && Modifier.isStatic(modifiers) && Modifier.isPublic(modifiers);
+    }
+
+    private static String toClassName(Path relative) {
+        String path = relative.toString().replace('\\', '/');
+        return path.substring(0, path.length() - ".java".length()).replace('/', '.');
+    }
+}
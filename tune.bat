@@ -0,0 +1 @@
+javac -d classes -cp "src" src/simulation/WeightTuner.java && java -cp "classes;src" simulation.WeightTuner %*
\ No newline at end of file